@@ -0,0 +1,235 @@
+package com.chess.engine.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MoveTransition;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.eval.NnueAccumulator;
+import com.chess.engine.eval.NnueNetwork;
+import com.chess.engine.perft.PerftPosition;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The benchmark fixture holds the boards and moves every benchmark works on
+ * It is built once per trial, before the warm up, so the measured operations do not include the setup
+ * The boards are the perft reference positions, which cover the opening, the middle game and the ending
+ */
+public class BenchmarkFixture {
+
+    private final List<Board> boards;
+    private final List<String> fens;
+    private final List<Move> moves;
+    private final List<Move> checkMoves;
+    private final List<Move> replyMoves;
+    private final List<Move> replies;
+    private final ListMultimap<PieceType, Piece> pieces;
+    private final ListMultimap<PieceType, Board> pieceBoards;
+    private final List<SearchBoard> searchBoards;
+    private final List<SearchBoard> moveSearchBoards;
+    private final int[] packedMoves;
+    private final MoveList moveList;
+    private final NnueNetwork nnueNetwork;
+    private final List<SearchBoard> nnueSearchBoards;
+
+    public BenchmarkFixture() {
+        final List<Board> fixtureBoards = new ArrayList<Board>();
+        final List<String> fixtureFens = new ArrayList<String>();
+        final List<Move> fixtureMoves = new ArrayList<Move>();
+        final List<Move> fixtureCheckMoves = new ArrayList<Move>();
+        final List<Move> fixtureReplyMoves = new ArrayList<Move>();
+        final List<Move> fixtureReplies = new ArrayList<Move>();
+        final ImmutableListMultimap.Builder<PieceType, Piece> fixturePieces = ImmutableListMultimap.builder();
+        final ImmutableListMultimap.Builder<PieceType, Board> fixturePieceBoards = ImmutableListMultimap.builder();
+        final List<SearchBoard> fixtureSearchBoards = new ArrayList<SearchBoard>();
+        final List<SearchBoard> fixtureMoveSearchBoards = new ArrayList<SearchBoard>();
+        for (PerftPosition position : PerftPosition.values()) {
+            Board board = position.createBoard();
+            fixtureBoards.add(board);
+            fixtureFens.add(position.getFen());
+            fixtureMoves.addAll(board.currentPlayer().getLegalMoves());
+            SearchBoard searchBoard = SearchBoard.fromBoard(board);
+            fixtureSearchBoards.add(searchBoard);
+            for (int i = 0; i < board.currentPlayer().getLegalMoves().size(); i++) {
+                fixtureMoveSearchBoards.add(searchBoard);
+            }
+            for (Piece piece : board.getAllPieces()) {
+                fixturePieces.put(piece.getPieceType(), piece);
+                fixturePieceBoards.put(piece.getPieceType(), board);
+            }
+            collectCheckMoves(board, 2, fixtureCheckMoves);
+            for (Move move : board.currentPlayer().getLegalMoves()) {
+                Collection<Move> moveReplies = move.execute().currentPlayer().getLegalMoves();
+                if (!moveReplies.isEmpty()) {
+                    fixtureReplyMoves.add(move);
+                    fixtureReplies.add(moveReplies.iterator().next());
+                }
+            }
+        }
+        this.boards = ImmutableList.copyOf(fixtureBoards);
+        this.fens = ImmutableList.copyOf(fixtureFens);
+        this.moves = ImmutableList.copyOf(fixtureMoves);
+        this.checkMoves = ImmutableList.copyOf(fixtureCheckMoves);
+        this.replyMoves = ImmutableList.copyOf(fixtureReplyMoves);
+        this.replies = ImmutableList.copyOf(fixtureReplies);
+        this.pieces = fixturePieces.build();
+        this.pieceBoards = fixturePieceBoards.build();
+        this.searchBoards = ImmutableList.copyOf(fixtureSearchBoards);
+        this.moveSearchBoards = ImmutableList.copyOf(fixtureMoveSearchBoards);
+        this.packedMoves = new int[this.moves.size()];
+        for (int i = 0; i < this.packedMoves.length; i++) {
+            this.packedMoves[i] = PackedMove.fromMove(this.moves.get(i));
+        }
+        this.moveList = new MoveList();
+        this.nnueNetwork = createRandomNetwork(256);
+        final List<SearchBoard> fixtureNnueSearchBoards = new ArrayList<SearchBoard>();
+        for (Board board : this.boards) {
+            SearchBoard searchBoard = SearchBoard.fromBoard(board);
+            searchBoard.setAccumulator(new NnueAccumulator(this.nnueNetwork));
+            fixtureNnueSearchBoards.add(searchBoard);
+        }
+        this.nnueSearchBoards = ImmutableList.copyOf(fixtureNnueSearchBoards);
+    }
+
+    public List<Board> getBoards() {
+        return this.boards;
+    }
+
+    /**
+     * @return The FEN of each board, in the order of getBoards
+     */
+    public List<String> getFens() {
+        return this.fens;
+    }
+
+    /**
+     * @return The moves of the current player of every fixture board
+     */
+    public List<Move> getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Executing a check move gives a new board, which has not calculated its legal moves or check status yet
+     * @return The legal moves up to two plies from the fixture boards which put the opponent in check
+     */
+    public List<Move> getCheckMoves() {
+        return this.checkMoves;
+    }
+
+    /**
+     * @return The moves of the current player of every fixture board that have a legal reply
+     */
+    public List<Move> getReplyMoves() {
+        return this.replyMoves;
+    }
+
+    /**
+     * @return A legal reply to each move returned by getReplyMoves, at the same index
+     */
+    public List<Move> getReplies() {
+        return this.replies;
+    }
+
+    /**
+     * @param pieceType The piece type
+     * @return The pieces of the type of both players of every fixture board
+     */
+    public List<Piece> getPieces(final PieceType pieceType) {
+        return this.pieces.get(pieceType);
+    }
+
+    /**
+     * @param pieceType The piece type
+     * @return The board of each piece returned by getPieces, at the same index
+     */
+    public List<Board> getPieceBoards(final PieceType pieceType) {
+        return this.pieceBoards.get(pieceType);
+    }
+
+    /**
+     * @return The search boards of the fixture boards, the benchmarks leave them unchanged
+     */
+    public List<SearchBoard> getSearchBoards() {
+        return this.searchBoards;
+    }
+
+    /**
+     * @param index The index of a move returned by getMoves
+     * @return The search board the move is made on
+     */
+    public SearchBoard getMoveSearchBoard(final int index) {
+        return this.moveSearchBoards.get(index);
+    }
+
+    /**
+     * @param index The index of a move returned by getMoves
+     * @return The packed move
+     */
+    public int getPackedMove(final int index) {
+        return this.packedMoves[index];
+    }
+
+    /**
+     * @return The move list reused by every move generation
+     */
+    public MoveList getMoveList() {
+        return this.moveList;
+    }
+
+    /**
+     * @return A network with random weights, it scores nonsense but costs as much as a trained one
+     */
+    public NnueNetwork getNnueNetwork() {
+        return this.nnueNetwork;
+    }
+
+    /**
+     * @return The search boards of the fixture boards with an accumulator of the network attached
+     */
+    public List<SearchBoard> getNnueSearchBoards() {
+        return this.nnueSearchBoards;
+    }
+
+    private static NnueNetwork createRandomNetwork(int hiddenSize) {
+        Random random = new Random(hiddenSize);
+        short[] inputWeights = new short[NnueNetwork.INPUTS * hiddenSize];
+        for (int i = 0; i < inputWeights.length; i++) {
+            inputWeights[i] = (short) (random.nextInt(61) - 30);
+        }
+        short[] hiddenBiases = new short[hiddenSize];
+        for (int i = 0; i < hiddenBiases.length; i++) {
+            hiddenBiases[i] = (short) random.nextInt(100);
+        }
+        short[] outputWeights = new short[2 * hiddenSize];
+        for (int i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) (random.nextInt(129) - 64);
+        }
+        return new NnueNetwork(hiddenSize, inputWeights, hiddenBiases, outputWeights, 0);
+    }
+
+    private static void collectCheckMoves(Board board, int depth, List<Move> checkMoves) {
+        if (depth == 0) {
+            return;
+        }
+        for (Move move : board.currentPlayer().getLegalMoves()) {
+            MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                if (transition.getToBoard().currentPlayer().isInCheck()) {
+                    checkMoves.add(move);
+                }
+                collectCheckMoves(transition.getToBoard(), depth - 1, checkMoves);
+            }
+        }
+    }
+}
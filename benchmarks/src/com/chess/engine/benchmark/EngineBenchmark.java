@@ -0,0 +1,182 @@
+package com.chess.engine.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.eval.BoardEvaluator;
+import com.chess.engine.eval.MaterialEvaluator;
+import com.chess.engine.eval.StandardBoardEvaluator;
+import com.chess.engine.search.StaticExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The engine hot paths measured with JMH
+ * Each invocation is one operation on the next fixture item, the invocation counter picks the item
+ * The returned values are consumed by JMH so the work can not be optimised away
+ * Run with gradle jmh, which adds the GC profiler for the allocation per operation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class EngineBenchmark {
+
+    private final BoardEvaluator materialEvaluator = new MaterialEvaluator();
+    private final BoardEvaluator standardEvaluator = new StandardBoardEvaluator();
+    private final StaticExchange staticExchange = new StaticExchange();
+    private BenchmarkFixture fixture;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.fixture = new BenchmarkFixture();
+    }
+
+    @Benchmark
+    public long createStandardBoard() {
+        return Board.createStandardBoard().getBitBoard().getOccupancy();
+    }
+
+    @Benchmark
+    public long fenCreateBoard() {
+        List<String> fens = this.fixture.getFens();
+        return FenUtilities.createBoardFromFen(fens.get(next(fens.size()))).getZobristKey();
+    }
+
+    @Benchmark
+    public int fenCreateFen() {
+        List<Board> boards = this.fixture.getBoards();
+        return FenUtilities.createFenFromBoard(boards.get(next(boards.size()))).length();
+    }
+
+    @Benchmark
+    public long moveExecute() {
+        List<Move> moves = this.fixture.getMoves();
+        return moves.get(next(moves.size())).execute().getBitBoard().getOccupancy();
+    }
+
+    @Benchmark
+    public int playerMakeMove() {
+        List<Move> moves = this.fixture.getMoves();
+        Move move = moves.get(next(moves.size()));
+        return move.getBoard().currentPlayer().makeMove(move).getMoveStatus().ordinal();
+    }
+
+    /**
+     * Looks up one move on a new board each time, as a game read move by move does,
+     * the time includes executing the move that creates the board and calculating its legal moves
+     */
+    @Benchmark
+    public int moveFactoryCreateMove() {
+        int index = next(this.fixture.getReplyMoves().size());
+        Move reply = this.fixture.getReplies().get(index);
+        return MoveFactory.createMove(this.fixture.getReplyMoves().get(index).execute(),
+                reply.getCurrentCoordinate(), reply.getDestinationCoordinate()).getDestinationCoordinate();
+    }
+
+    /**
+     * Looks up the moves of the fixture boards over and over, so the legal moves and their index are built once
+     */
+    @Benchmark
+    public int moveFactoryCreateMoveRepeated() {
+        List<Move> moves = this.fixture.getMoves();
+        Move move = moves.get(next(moves.size()));
+        return MoveFactory.createMove(move.getBoard(), move.getCurrentCoordinate(),
+                move.getDestinationCoordinate()).getDestinationCoordinate();
+    }
+
+    @Benchmark
+    public long searchBoardMakeUnmakeMove() {
+        int index = next(this.fixture.getMoves().size());
+        SearchBoard board = this.fixture.getMoveSearchBoard(index);
+        if (!board.makeMove(this.fixture.getPackedMove(index))) {
+            return 0L;
+        }
+        long key = board.getZobristKey();
+        board.unmakeMove();
+        return key;
+    }
+
+    @Benchmark
+    public int searchBoardGenerateMoves() {
+        List<SearchBoard> boards = this.fixture.getSearchBoards();
+        MoveList moves = this.fixture.getMoveList();
+        boards.get(next(boards.size())).generatePseudoLegalMoves(moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public int staticExchangeEvaluate() {
+        int index = next(this.fixture.getMoves().size());
+        return this.staticExchange.evaluate(this.fixture.getMoveSearchBoard(index), this.fixture.getPackedMove(index));
+    }
+
+    @Benchmark
+    public int materialEvaluate() {
+        List<SearchBoard> boards = this.fixture.getSearchBoards();
+        return this.materialEvaluator.evaluate(boards.get(next(boards.size())));
+    }
+
+    @Benchmark
+    public int standardEvaluate() {
+        List<SearchBoard> boards = this.fixture.getSearchBoards();
+        return this.standardEvaluator.evaluate(boards.get(next(boards.size())));
+    }
+
+    @Benchmark
+    public int nnueEvaluate() {
+        List<SearchBoard> boards = this.fixture.getNnueSearchBoards();
+        SearchBoard board = boards.get(next(boards.size()));
+        return board.getAccumulator().evaluate(board.getSideToMove());
+    }
+
+    @Benchmark
+    public long nnueMakeUnmakeMove() {
+        List<SearchBoard> boards = this.fixture.getNnueSearchBoards();
+        SearchBoard board = boards.get(next(boards.size()));
+        MoveList moves = this.fixture.getMoveList();
+        board.generatePseudoLegalMoves(moves);
+        if (!board.makeMove(moves.get(this.invocation % moves.size()))) {
+            return 0L;
+        }
+        long key = board.getZobristKey();
+        board.unmakeMove();
+        return key;
+    }
+
+    /**
+     * Asks a new board each time, so the check status and the legal moves are calculated and not read from the memo,
+     * the time includes executing the check move
+     */
+    @Benchmark
+    public boolean playerIsInCheckMate() {
+        List<Move> moves = this.fixture.getCheckMoves();
+        return moves.get(next(moves.size())).execute().currentPlayer().isInCheckMate();
+    }
+
+    /**
+     * @param size The number of fixture items
+     * @return The index of the item of this invocation
+     */
+    private int next(final int size) {
+        return (this.invocation++ & Integer.MAX_VALUE) % size;
+    }
+}
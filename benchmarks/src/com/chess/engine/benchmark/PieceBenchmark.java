@@ -0,0 +1,52 @@
+package com.chess.engine.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The legal move calculation of a single piece, once for every piece type
+ * Each invocation calculates the moves of the next piece of the type on its fixture board
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class PieceBenchmark {
+
+    @Param({"PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING"})
+    private PieceType pieceType;
+    private List<Piece> pieces;
+    private List<Board> boards;
+    private int invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixture fixture = new BenchmarkFixture();
+        this.pieces = fixture.getPieces(this.pieceType);
+        this.boards = fixture.getPieceBoards(this.pieceType);
+    }
+
+    @Benchmark
+    public int calculateLegalMoves() {
+        int index = (this.invocation++ & Integer.MAX_VALUE) % this.pieces.size();
+        return this.pieces.get(index).calculateLegalMoves(this.boards.get(index)).size();
+    }
+}
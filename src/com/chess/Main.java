@@ -1,14 +1,22 @@
 package com.chess;
 
+import com.chess.engine.uci.UciEngine;
 import com.chess.gui.Table;
 
+import java.io.IOException;
+
 /**
  * The starting point of the program
  * creating the table class - the GUI
+ * With the argument "uci" the engine runs headless and speaks UCI over the standard input and output instead
  */
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("uci")) {
+            new UciEngine(System.in, System.out).run();
+            return;
+        }
          Table chessTable = new Table();
     }
-}
\ No newline at end of file
+}
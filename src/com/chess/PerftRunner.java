@@ -0,0 +1,63 @@
+package com.chess;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.perft.Perft;
+import com.chess.engine.perft.PerftPosition;
+
+import java.util.Map;
+
+/**
+ * The perft command line entry point
+ * No arguments or a depth runs every reference position up to the depth and compares the counts
+ * "divide POSITION DEPTH" prints the leaf nodes under each root move of a reference position
+ * The exit status is 1 when a count does not match
+ */
+public class PerftRunner {
+
+    private static final int DEFAULT_DEPTH = 4;
+
+    public static void main(String[] args) {
+        if (args.length == 3 && args[0].equals("divide")) {
+            divide(PerftPosition.valueOf(args[1].toUpperCase()), Integer.parseInt(args[2]));
+            return;
+        }
+        int depth = args.length == 1 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        boolean passed = true;
+        for (PerftPosition position : PerftPosition.values()) {
+            Board board = position.createBoard();
+            for (int i = 1; i <= Math.min(depth, position.getMaxDepth()); i++) {
+                long start = System.nanoTime();
+                long nodes = Perft.perft(board, i);
+                long elapsed = System.nanoTime() - start;
+                boolean matches = nodes == position.getExpectedNodes(i);
+                passed &= matches;
+                System.out.println(String.format("%-12s depth %d %10d nodes %8d ms %10d nodes/s %s",
+                        position, i, nodes, elapsed / 1000000L, nodesPerSecond(nodes, elapsed),
+                        matches ? "OK" : "FAILED expected " + position.getExpectedNodes(i)));
+            }
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static void divide(PerftPosition position, int depth) {
+        long start = System.nanoTime();
+        long total = 0L;
+        for (Map.Entry<Move, Long> entry : Perft.divide(position.createBoard(), depth).entrySet()) {
+            Move move = entry.getKey();
+            System.out.println(BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+                    BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()) + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("nodes: " + total + " in " + elapsed / 1000000L + " ms, " +
+                nodesPerSecond(total, elapsed) + " nodes/s");
+    }
+
+    private static long nodesPerSecond(long nodes, long elapsedNanos) {
+        return elapsedNanos == 0L ? 0L : nodes * 1000000000L / elapsedNanos;
+    }
+}
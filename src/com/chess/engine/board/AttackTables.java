@@ -0,0 +1,288 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+/**
+ * The precomputed attack tables
+ * For every tile there is a bit board of the tiles a knight, a king or a pawn of each alliance
+ * on that tile attacks, built once when the class is loaded
+ * Move generation for these pieces is a table lookup filtered by the occupancy, there is no
+ * column exclusion check per offset
+ * The tables are symmetric, the attackers of a tile are found by looking up the tile itself,
+ * for pawns with the table of the other alliance
+ *
+ * Rook and bishop attacks use magic bit boards: the blockers on the rays of the tile are multiplied
+ * by a magic number and the top bits of the product index a table of attack sets
+ * The magic numbers were found once by a random search for sparse numbers, the tile numbering differs
+ * from the published magics, so those can not be used, the attack tables are filled from them at class load
+ *
+ * @see <a href="https://www.chessprogramming.org/Knight_Pattern">Knight pattern</a>
+ * @see <a href="https://www.chessprogramming.org/King_Pattern">King pattern</a>
+ * @see <a href="https://www.chessprogramming.org/Pawn_Attacks_(Bitboards)">Pawn attacks</a>
+ * @see <a href="https://www.chessprogramming.org/Magic_Bitboards">Magic bitboards</a>
+ */
+public class AttackTables {
+
+    /**
+     * The (row, column) steps, rows grow downwards as the coordinates do
+     */
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int[][] KING_STEPS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[][] WHITE_PAWN_STEPS = {{-1, -1}, {-1, 1}};
+    private static final int[][] BLACK_PAWN_STEPS = {{1, -1}, {1, 1}};
+    private static final int[][] ROOK_STEPS = {{-1, 0}, {0, -1}, {0, 1}, {1, 0}};
+    private static final int[][] BISHOP_STEPS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = createStepAttacks(KNIGHT_STEPS);
+    private static final long[] KING_ATTACKS = createStepAttacks(KING_STEPS);
+    private static final long[][] PAWN_ATTACKS = {createStepAttacks(WHITE_PAWN_STEPS),
+            createStepAttacks(BLACK_PAWN_STEPS)};
+
+    private static final long[] ROOK_MASKS = createRayMasks(ROOK_STEPS);
+    private static final long[] BISHOP_MASKS = createRayMasks(BISHOP_STEPS);
+    private static final int[] ROOK_SHIFTS = createShifts(ROOK_MASKS);
+    private static final int[] BISHOP_SHIFTS = createShifts(BISHOP_MASKS);
+    private static final long[] ROOK_MAGICS = {
+            0x0080102080004000L, 0x4140200190004003L, 0x0200108200200840L, 0x2480080010000481L,
+            0x0480040048008002L, 0x0200020090211418L, 0x4400081044210082L, 0x0100008056012700L,
+            0x08A0800090204000L, 0x008A4000A0100340L, 0x8010802000100080L, 0x0002004012000822L,
+            0xA105000800041100L, 0x0002000200080410L, 0x0104000842501C49L, 0x150A0005008E0044L,
+            0x0101828000400020L, 0x0011010020400080L, 0x0010008020008018L, 0x0C00808008001000L,
+            0x0000110008010004L, 0x4082008004000280L, 0x0080040010080102L, 0x0080020000910044L,
+            0x4002208180004000L, 0x8000400080200088L, 0x0890080020040020L, 0x0000090100201000L,
+            0xA004008180240800L, 0x2400020080040080L, 0x0006000200080401L, 0x0800508A000404C1L,
+            0x0080804004800022L, 0x1120400089002100L, 0x0000108022004201L, 0xE000201001000904L,
+            0x0440080080800401L, 0x0600800400800200L, 0x4012000812001431L, 0x10001C4102000084L,
+            0x0040004080298000L, 0x0400400020008080L, 0x4020001900410020L, 0x0828100008008080L,
+            0x0009000800330004L, 0x0012000400808002L, 0x0010020810040001L, 0x6880004400820001L,
+            0x0000400080002080L, 0x8020004010002040L, 0x0220200088100080L, 0x4480800800100080L,
+            0x0100240008008280L, 0x4084000200410040L, 0x1000010882300400L, 0x00420C0080610200L,
+            0xC082442010800101L, 0x110129C000805103L, 0x002010A001034029L, 0x00C1090410002101L,
+            0x0011001002040801L, 0x9025000248240081L, 0x0420481508821004L, 0x084008240041088AL};
+    private static final long[] BISHOP_MAGICS = {
+            0x0382040400A20202L, 0x2088080124002000L, 0x0490808A89014004L, 0x1082208200240190L,
+            0xC234042108000010L, 0x5841104210000008L, 0x0004680804900080L, 0x4004104414044000L,
+            0x0820040848084080L, 0x0800100121010208L, 0x100004940409400CL, 0x015808208020000AL,
+            0x0080240504004000L, 0x0002008804400002L, 0x01005A9809082085L, 0x0801348C08880480L,
+            0x0004005044900404L, 0x0104400821081210L, 0x0108000408002208L, 0x0008218404001000L,
+            0x0024000211041380L, 0x0102000088041280L, 0x0006051401012808L, 0x4212000480442200L,
+            0x8008482004111000L, 0x001008E090210120L, 0x0408010008004100L, 0x0240041002020008L,
+            0x0031010000104002L, 0x00C0810002010080L, 0x0002920090AA1001L, 0x0082020044510084L,
+            0x910231040040088CL, 0x0051049008200101L, 0x300018040C080040L, 0x4150420080580080L,
+            0x8104010400020082L, 0x0081100881040A00L, 0x0401021428020508L, 0x0042140043B10044L,
+            0x01408220210410C0L, 0x6009240220200200L, 0x3001001082249008L, 0x0163046018000300L,
+            0x0008100210100205L, 0x06204190018020C1L, 0x0802045802080080L, 0x0002080044821110L,
+            0x2801047002080000L, 0x0000410801100001L, 0x0010004844100080L, 0x8000901210441000L,
+            0x4811404003820820L, 0x00824110C2108058L, 0x02A2180D18208080L, 0x0021020222410390L,
+            0x000C410801012008L, 0x000202228414A00AL, 0x9004081922015000L, 0x0840007088C20A04L,
+            0x2000881042882202L, 0x00200052A0A10500L, 0x0004050810240882L, 0x4010120098008300L};
+    private static final long[][] ROOK_ATTACKS = createMagicAttacks(ROOK_MASKS, ROOK_SHIFTS, ROOK_MAGICS, ROOK_STEPS);
+    private static final long[][] BISHOP_ATTACKS = createMagicAttacks(BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_MAGICS,
+            BISHOP_STEPS);
+
+    private static final long[] BETWEEN = new long[BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+    private static final long[] LINE = new long[BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+
+    static {
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (int[][] steps : new int[][][]{ROOK_STEPS, BISHOP_STEPS}) {
+                for (int[] step : steps) {
+                    long line = calculateRayAttacks(from, BitBoard.EMPTY, new int[][]{step}) |
+                            calculateRayAttacks(from, BitBoard.EMPTY, new int[][]{{-step[0], -step[1]}}) |
+                            BitBoard.bit(from);
+                    long between = BitBoard.EMPTY;
+                    int row = from / BoardUtils.NUM_TILES_PER_ROW + step[0];
+                    int column = from % BoardUtils.NUM_TILES_PER_ROW + step[1];
+                    while (isOnBoard(row, column)) {
+                        int to = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                        BETWEEN[from * BoardUtils.NUM_TILES + to] = between;
+                        LINE[from * BoardUtils.NUM_TILES + to] = line;
+                        between |= BitBoard.bit(to);
+                        row += step[0];
+                        column += step[1];
+                    }
+                }
+            }
+        }
+    }
+
+    private AttackTables() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param coordinate The tile of the knight
+     * @return The tiles the knight attacks
+     */
+    public static long knightAttacks(final int coordinate) {
+        return KNIGHT_ATTACKS[coordinate];
+    }
+
+    /**
+     * @param coordinate The tile of the king
+     * @return The tiles the king attacks, castling not included
+     */
+    public static long kingAttacks(final int coordinate) {
+        return KING_ATTACKS[coordinate];
+    }
+
+    /**
+     * @param alliance The pawn alliance
+     * @param coordinate The tile of the pawn
+     * @return The two diagonal tiles in front of the pawn, one on the edge columns
+     */
+    public static long pawnAttacks(final Alliance alliance, final int coordinate) {
+        return PAWN_ATTACKS[alliance.ordinal()][coordinate];
+    }
+
+    /**
+     * @param coordinate The tile of the rook
+     * @param occupancy The occupied tiles of the board
+     * @return The tiles the rook attacks, up to and including the first occupied tile of every ray
+     */
+    public static long rookAttacks(final int coordinate, final long occupancy) {
+        long blockers = occupancy & ROOK_MASKS[coordinate];
+        return ROOK_ATTACKS[coordinate][(int) ((blockers * ROOK_MAGICS[coordinate]) >>> ROOK_SHIFTS[coordinate])];
+    }
+
+    /**
+     * @param coordinate The tile of the bishop
+     * @param occupancy The occupied tiles of the board
+     * @return The tiles the bishop attacks, up to and including the first occupied tile of every ray
+     */
+    public static long bishopAttacks(final int coordinate, final long occupancy) {
+        long blockers = occupancy & BISHOP_MASKS[coordinate];
+        return BISHOP_ATTACKS[coordinate][(int) ((blockers * BISHOP_MAGICS[coordinate]) >>>
+                BISHOP_SHIFTS[coordinate])];
+    }
+
+    public static long queenAttacks(final int coordinate, final long occupancy) {
+        return rookAttacks(coordinate, occupancy) | bishopAttacks(coordinate, occupancy);
+    }
+
+    /**
+     * @param from The first tile
+     * @param to The second tile
+     * @return The tiles strictly between two tiles on a common row, column or diagonal, empty otherwise
+     */
+    public static long between(final int from, final int to) {
+        return BETWEEN[from * BoardUtils.NUM_TILES + to];
+    }
+
+    /**
+     * @param from The first tile
+     * @param to The second tile
+     * @return The whole row, column or diagonal through both tiles, empty if they are not on one
+     */
+    public static long line(final int from, final int to) {
+        return LINE[from * BoardUtils.NUM_TILES + to];
+    }
+
+    /**
+     * @param alliance The pawn alliance ordinal
+     * @param coordinate The tile of the pawn
+     * @return The two diagonal tiles in front of the pawn, one on the edge columns
+     */
+    static long pawnAttacks(final int alliance, final int coordinate) {
+        return PAWN_ATTACKS[alliance][coordinate];
+    }
+
+    private static long[] createStepAttacks(final int[][] steps) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            int row = coordinate / BoardUtils.NUM_TILES_PER_ROW;
+            int column = coordinate % BoardUtils.NUM_TILES_PER_ROW;
+            for (int[] step : steps) {
+                int toRow = row + step[0];
+                int toColumn = column + step[1];
+                if (toRow >= 0 && toRow < BoardUtils.NUM_TILES_PER_ROW &&
+                        toColumn >= 0 && toColumn < BoardUtils.NUM_TILES_PER_ROW) {
+                    attacks[coordinate] |= BitBoard.bit(toRow * BoardUtils.NUM_TILES_PER_ROW + toColumn);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * The mask of a tile holds the ray tiles whose occupancy matters, the last tile of a ray
+     * is attacked whether or not it is occupied so it is left out
+     */
+    private static long[] createRayMasks(final int[][] steps) {
+        final long[] masks = new long[BoardUtils.NUM_TILES];
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            for (int[] step : steps) {
+                int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + step[0];
+                int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + step[1];
+                while (isOnBoard(row + step[0], column + step[1])) {
+                    masks[coordinate] |= BitBoard.bit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                    row += step[0];
+                    column += step[1];
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * The product is shifted so that one index bit is left per mask tile
+     */
+    private static int[] createShifts(final long[] masks) {
+        final int[] shifts = new int[BoardUtils.NUM_TILES];
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            shifts[coordinate] = BoardUtils.NUM_TILES - Long.bitCount(masks[coordinate]);
+        }
+        return shifts;
+    }
+
+    /**
+     * Walks the rays tile by tile, used only to fill the magic tables
+     */
+    private static long calculateRayAttacks(final int coordinate, final long occupancy, final int[][] steps) {
+        long attacks = BitBoard.EMPTY;
+        for (int[] step : steps) {
+            int row = coordinate / BoardUtils.NUM_TILES_PER_ROW + step[0];
+            int column = coordinate % BoardUtils.NUM_TILES_PER_ROW + step[1];
+            while (isOnBoard(row, column)) {
+                long bit = BitBoard.bit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= bit;
+                if ((occupancy & bit) != BitBoard.EMPTY) {
+                    break;
+                }
+                row += step[0];
+                column += step[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Fills the attack table of every tile for every blocker subset of its mask
+     * @throws RuntimeException if a magic number maps two different attack sets to one slot
+     */
+    private static long[][] createMagicAttacks(final long[] masks, final int[] shifts, final long[] magics,
+                                               final int[][] steps) {
+        final long[][] attackTables = new long[BoardUtils.NUM_TILES][];
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            long mask = masks[coordinate];
+            final long[] table = new long[1 << Long.bitCount(mask)];
+            long blockers = BitBoard.EMPTY;
+            do {
+                int index = (int) ((blockers * magics[coordinate]) >>> shifts[coordinate]);
+                long attacks = calculateRayAttacks(coordinate, blockers, steps);
+                if (table[index] != BitBoard.EMPTY && table[index] != attacks) {
+                    throw new RuntimeException("Bad magic number for tile " + coordinate);
+                }
+                table[index] = attacks;
+                // the carry rippler trick enumerates every subset of the mask
+                blockers = (blockers - mask) & mask;
+            } while (blockers != BitBoard.EMPTY);
+            attackTables[coordinate] = table;
+        }
+        return attackTables;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+}
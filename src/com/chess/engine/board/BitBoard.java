@@ -0,0 +1,163 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The bit board class
+ * One long per piece type per alliance plus occupancy masks
+ * Bit N of every long is set when the tile with coordinate N is occupied
+ * (0 is a8, 63 is h1, the same numbering the tiles use)
+ * A mailbox array keeps the piece objects so that a tile lookup is a bit test and an array read
+ *
+ * @see <a href="https://www.chessprogramming.org/Bitboards">Bitboards</a>
+ */
+public class BitBoard {
+
+    public static final long EMPTY = 0L;
+
+    private static final int NUM_PIECE_TYPES = PieceType.values().length;
+
+    private final long[] pieceBoards;
+    private final long[] allianceOccupancy;
+    private final long occupancy;
+    private final Piece[] pieces;
+
+    /**
+     * @param pieces The pieces on the board, one per occupied coordinate
+     */
+    BitBoard(Collection<Piece> pieces) {
+        this.pieceBoards = new long[Alliance.values().length * NUM_PIECE_TYPES];
+        this.allianceOccupancy = new long[Alliance.values().length];
+        this.pieces = new Piece[BoardUtils.NUM_TILES];
+        long allPieces = EMPTY;
+        for (Piece piece : pieces) {
+            int coordinate = piece.getPiecePosition();
+            long bit = bit(coordinate);
+            this.pieceBoards[index(piece.getPieceAlliance(), piece.getPieceType())] |= bit;
+            this.allianceOccupancy[piece.getPieceAlliance().ordinal()] |= bit;
+            this.pieces[coordinate] = piece;
+            allPieces |= bit;
+        }
+        this.occupancy = allPieces;
+    }
+
+    /**
+     * @param coordinate Integer coordinate between 0 and 63
+     * @return A long with only the bit of the coordinate set
+     */
+    public static long bit(final int coordinate) {
+        return 1L << coordinate;
+    }
+
+    /**
+     * @param bitBoard A non empty bit board
+     * @return The lowest coordinate set in the bit board
+     */
+    public static int firstCoordinate(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    /**
+     * @param alliance The alliance
+     * @param pieceType The piece type
+     * @return The index of the piece bit board for the given alliance and type
+     */
+    public static int index(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public boolean isOccupied(final int coordinate) {
+        return (this.occupancy & bit(coordinate)) != EMPTY;
+    }
+
+    public Piece getPiece(final int coordinate) {
+        return this.pieces[coordinate];
+    }
+
+    public long getOccupancy() {
+        return this.occupancy;
+    }
+
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    public long getPieceBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBoards[index(alliance, pieceType)];
+    }
+
+    /**
+     * @param alliance The alliance
+     * @return The coordinate of the alliance king or -1 if there is no king
+     */
+    public int getKingCoordinate(final Alliance alliance) {
+        long king = getPieceBoard(alliance, PieceType.KING);
+        return king == EMPTY ? -1 : firstCoordinate(king);
+    }
+
+    /**
+     * Looks up the attacks from the tile itself and keeps the attacker pieces found on them,
+     * pawns are looked up with the pawn table of the other alliance
+     * @param coordinate The attacked tile
+     * @param attacker The alliance of the attackers
+     * @param occupancy The occupied tiles the sliding attacks stop at
+     * @return The tiles of the attacker pieces which attack the tile
+     */
+    public long calculateAttackers(final int coordinate, final Alliance attacker, final long occupancy) {
+        long queens = getPieceBoard(attacker, PieceType.QUEEN);
+        Alliance defender = attacker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        return (AttackTables.pawnAttacks(defender, coordinate) & getPieceBoard(attacker, PieceType.PAWN)) |
+                (AttackTables.knightAttacks(coordinate) & getPieceBoard(attacker, PieceType.KNIGHT)) |
+                (AttackTables.kingAttacks(coordinate) & getPieceBoard(attacker, PieceType.KING)) |
+                (AttackTables.rookAttacks(coordinate, occupancy) & (getPieceBoard(attacker, PieceType.ROOK) | queens)) |
+                (AttackTables.bishopAttacks(coordinate, occupancy) &
+                        (getPieceBoard(attacker, PieceType.BISHOP) | queens));
+    }
+
+    /**
+     * A piece is pinned when it is the only piece between its king and an enemy sliding piece on the same line
+     * @param kingCoordinate The tile of the king
+     * @param alliance The alliance of the king
+     * @return The tiles of the alliance pieces which are pinned to the king
+     */
+    public long calculatePinnedPieces(final int kingCoordinate, final Alliance alliance) {
+        Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        long opponentOccupancy = getAllianceOccupancy(opponent);
+        long queens = getPieceBoard(opponent, PieceType.QUEEN);
+        // the sliders which would attack the king if the alliance pieces were not there
+        long snipers = (AttackTables.rookAttacks(kingCoordinate, opponentOccupancy) &
+                (getPieceBoard(opponent, PieceType.ROOK) | queens)) |
+                (AttackTables.bishopAttacks(kingCoordinate, opponentOccupancy) &
+                        (getPieceBoard(opponent, PieceType.BISHOP) | queens));
+        long pinned = EMPTY;
+        while (snipers != EMPTY) {
+            long blockers = AttackTables.between(kingCoordinate, firstCoordinate(snipers)) & this.occupancy;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & getAllianceOccupancy(alliance);
+            }
+            snipers &= snipers - 1;
+        }
+        return pinned;
+    }
+
+    /**
+     * Walks the set bits of the alliance occupancy and reads the pieces from the mailbox
+     * @param alliance The alliance
+     * @return The alliance pieces ordered by coordinate
+     */
+    Collection<Piece> calculateActivePieces(final Alliance alliance) {
+        long occupied = getAllianceOccupancy(alliance);
+        final List<Piece> activePieces = new ArrayList<Piece>(Long.bitCount(occupied));
+        while (occupied != EMPTY) {
+            activePieces.add(this.pieces[firstCoordinate(occupied)]);
+            occupied &= occupied - 1;
+        }
+        return activePieces;
+    }
+}
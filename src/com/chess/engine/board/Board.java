@@ -11,40 +11,48 @@ import com.chess.engine.pieces.Rook;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.*;
 
 /**
  * The board class using the Builder pattern
+ * The pieces are kept in a bit board, tiles are created on first lookup
  */
 public class Board {
 
-    private List<Tile> gameBoard;
-    private Collection<Piece> whitePieces;
-    private Collection<Piece> blackPieces;
-    private WhitePlayer whitePlayer;
-    private BlackPlayer blackPlayer;
-    private Player currentPlayer;
-    
-    private Pawn enPassantPawn;
-    private Move transitionMove;
+    private final BitBoard bitBoard;
+    private final Tile[] gameBoard;
+    private final Collection<Piece> whitePieces;
+    private final Collection<Piece> blackPieces;
+    private final WhitePlayer whitePlayer;
+    private final BlackPlayer blackPlayer;
+    private final Player currentPlayer;
+
+    private final Pawn enPassantPawn;
+    private final Move transitionMove;
+    private final int castlingRights;
+    private final long zobristKey;
+    private final int halfMoveClock;
+    private final int fullMoveNumber;
 
     /**
      * @param builder The builder
      */
     public Board(Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(builder, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(builder, Alliance.BLACK);
+        this.bitBoard = new BitBoard(builder.boardConfig.values());
+        this.gameBoard = new Tile[BoardUtils.NUM_TILES];
+        this.whitePieces = this.bitBoard.calculateActivePieces(Alliance.WHITE);
+        this.blackPieces = this.bitBoard.calculateActivePieces(Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-        Collection<Move> whiteStandardMoves = calculateLegalMoves(this.whitePieces);
-        Collection<Move> blackStandardMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteStandardMoves, blackStandardMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardMoves, blackStandardMoves);
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayerByAlliance(this.whitePlayer, this.blackPlayer);
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : Move.NULL_MOVE;
+        this.castlingRights = BoardUtils.calculateCastlingRights(this.bitBoard);
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey : Zobrist.calculateKey(this);
+        this.halfMoveClock = builder.halfMoveClock;
+        this.fullMoveNumber = builder.fullMoveNumber;
     }
 
     /**
@@ -54,7 +62,7 @@ public class Board {
     public String toString() {
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            String tileText = prettyPrint(this.gameBoard.get(i));
+            String tileText = prettyPrint(getTile(i));
             builder.append(String.format("%3s", tileText));
             // Append a new line if the eighth column is reached
             if ((i + 1) % 8 == 0) {
@@ -102,6 +110,15 @@ public class Board {
                 this.blackPlayer.getLegalMoves()));
     }
 
+    /**
+     * @param currentCoordinate The tile of the moved piece
+     * @param destinationCoordinate The destination tile
+     * @return The legal move of the current player between the tiles or Move.NULL_MOVE
+     */
+    public Move getLegalMove(final int currentCoordinate, final int destinationCoordinate) {
+        return this.currentPlayer.getLegalMove(currentCoordinate, destinationCoordinate);
+    }
+
     public WhitePlayer whitePlayer() {
         return this.whitePlayer;
     }
@@ -114,8 +131,65 @@ public class Board {
         return this.currentPlayer;
     }
 
+    /**
+     * The tile is created from the bit board on the first lookup and cached
+     * Tiles are immutable, so threads racing on the cache at worst create the same tile twice
+     * @param coordinate Integer coordinate between 0 and 63
+     * @return The tile
+     */
     public Tile getTile(final int coordinate) {
-        return this.gameBoard.get(coordinate);
+        Tile tile = this.gameBoard[coordinate];
+        if (tile == null) {
+            tile = Tile.createTile(coordinate, this.bitBoard.getPiece(coordinate));
+            this.gameBoard[coordinate] = tile;
+        }
+        return tile;
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    /**
+     * Looks up the attackers from the tile itself instead of generating the moves of the attacker
+     * @param coordinate The attacked tile
+     * @param attacker The alliance of the attackers
+     * @return True if any attacker piece attacks the tile
+     */
+    public boolean isSquareAttacked(final int coordinate, final Alliance attacker) {
+        return getAttackers(coordinate, attacker) != BitBoard.EMPTY;
+    }
+
+    /**
+     * @param coordinate The attacked tile
+     * @param attacker The alliance of the attackers
+     * @return The tiles of the attacker pieces which attack the tile
+     */
+    public long getAttackers(final int coordinate, final Alliance attacker) {
+        return this.bitBoard.calculateAttackers(coordinate, attacker, this.bitBoard.getOccupancy());
+    }
+
+    /**
+     * @param coordinate The attacked tile
+     * @param attacker The alliance of the attackers
+     * @return The attacker pieces which attack the tile
+     */
+    public Collection<Piece> getAttackingPieces(final int coordinate, final Alliance attacker) {
+        final List<Piece> attackingPieces = new ArrayList<Piece>(2);
+        for (long attackers = getAttackers(coordinate, attacker); attackers != BitBoard.EMPTY;
+             attackers &= attackers - 1) {
+            attackingPieces.add(this.bitBoard.getPiece(BitBoard.firstCoordinate(attackers)));
+        }
+        return attackingPieces;
+    }
+
+    /**
+     * @param coordinate The attacked tile
+     * @param attacker The alliance of the attackers
+     * @return The number of attacker pieces which attack the tile
+     */
+    public int countAttackers(final int coordinate, final Alliance attacker) {
+        return Long.bitCount(getAttackers(coordinate, attacker));
     }
 
     public Pawn getEnPassantPawn() {
@@ -126,6 +200,34 @@ public class Board {
         return this.transitionMove;
     }
 
+    /**
+     * @return The castling right bits, see BoardUtils.WHITE_KING_SIDE_CASTLE
+     */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * @return The Zobrist key identifying the position
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * @return The half moves since the last pawn move or capture, for the fifty move rule
+     */
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    /**
+     * @return The number of the full move, starting at 1 and incremented after each black move
+     */
+    public int getFullMoveNumber() {
+        return this.fullMoveNumber;
+    }
+
     /**
      * Creating the standard start chess board
      * White to move first
@@ -173,48 +275,6 @@ public class Board {
         return builder.build();
     }
 
-    /**
-     * Iterates from 0 to 63 and is creating the game board
-     * @param boardBuilder The builder
-     * @return A list of tiles
-     */
-    private static List<Tile> createGameBoard(Builder boardBuilder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            tiles[i] = Tile.createTile(i, boardBuilder.boardConfig.get(i));
-        }
-        return ImmutableList.copyOf(tiles);
-    }
-
-    /**
-     * Iterates over pieces and gets the all legal moves
-     * @param pieces All pieces
-     * @return The legal moves
-     */
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<Move>(35);
-        for (Piece piece : pieces) {
-            legalMoves.addAll(piece.calculateLegalMoves(this));
-        }
-        return legalMoves;
-    }
-
-    /**
-     * Iterates over the boardConfig pieces
-     * @param builder The builder
-     * @param alliance The alliance
-     * @return Active pieces
-     */
-    private static Collection<Piece> calculateActivePieces(Builder builder, Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<Piece>(16);
-        for (Piece piece : builder.boardConfig.values()) {
-            if (piece.getPieceAlliance() == alliance) {
-                activePieces.add(piece);
-            }
-        }
-        return activePieces;
-    }
-
     /**
      * The builder class
      * board config is a map
@@ -227,9 +287,13 @@ public class Board {
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove;
+        Long zobristKey;
+        int halfMoveClock;
+        int fullMoveNumber;
 
         public Builder() {
             this.boardConfig = new HashMap<Integer, Piece>(33, 1.0f);
+            this.fullMoveNumber = 1;
         }
 
         public Builder setPiece(final Piece piece) {
@@ -252,6 +316,25 @@ public class Board {
             return this;
         }
 
+        /**
+         * Sets the key updated by the move which creates the board,
+         * the key of a board built without it is calculated from scratch
+         */
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
+
+        public Builder setHalfMoveClock(final int halfMoveClock) {
+            this.halfMoveClock = halfMoveClock;
+            return this;
+        }
+
+        public Builder setFullMoveNumber(final int fullMoveNumber) {
+            this.fullMoveNumber = fullMoveNumber;
+            return this;
+        }
+
         public Board build() {
             return new Board(this);
         }
@@ -1,5 +1,10 @@
 package com.chess.engine.board;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,6 +30,17 @@ public class BoardUtils {
     public static final String[] ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
     public static final Map<String, Integer> POSITION_TO_COORDINATE = initializePositionToCoordinateMap();
 
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    /**
+     * The castling rights which stay after a move from or to the coordinate
+     * Moving the king or a rook, or capturing a rook, clears the matching rights
+     */
+    public static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
     public static final int START_TILE_INDEX = 0;
     public static final int NUM_TILES_PER_ROW = 8;
     public static final int NUM_TILES = 64;
@@ -74,6 +90,55 @@ public class BoardUtils {
                 board.currentPlayer().isInStaleMate();
     }
 
+    /**
+     * A side may castle when its king and the rook have not moved from their start tiles
+     * and the king is still castle capable on that side
+     * @param bitBoard The pieces of the board
+     * @return The castling right bits of both sides
+     */
+    static int calculateCastlingRights(final BitBoard bitBoard) {
+        return calculateCastlingRights(bitBoard, 60, 63, 56, WHITE_KING_SIDE_CASTLE, WHITE_QUEEN_SIDE_CASTLE) |
+                calculateCastlingRights(bitBoard, 4, 7, 0, BLACK_KING_SIDE_CASTLE, BLACK_QUEEN_SIDE_CASTLE);
+    }
+
+    private static int calculateCastlingRights(final BitBoard bitBoard, final int kingCoordinate,
+                                               final int kingSideRook, final int queenSideRook,
+                                               final int kingSide, final int queenSide) {
+        Piece king = bitBoard.getPiece(kingCoordinate);
+        if (king == null || !king.getPieceType().isKing() || !king.isFirstMove()) {
+            return 0;
+        }
+        int rights = 0;
+        if (((King) king).isKingSideCastleCapable() &&
+                isUnmovedRook(bitBoard, kingSideRook, king.getPieceAlliance())) {
+            rights |= kingSide;
+        }
+        if (((King) king).isQueenSideCastleCapable() &&
+                isUnmovedRook(bitBoard, queenSideRook, king.getPieceAlliance())) {
+            rights |= queenSide;
+        }
+        return rights;
+    }
+
+    private static boolean isUnmovedRook(final BitBoard bitBoard, final int coordinate, final Alliance alliance) {
+        Piece rook = bitBoard.getPiece(coordinate);
+        return rook != null && rook.getPieceType().isRook() && rook.isFirstMove() &&
+                rook.getPieceAlliance() == alliance;
+    }
+
+    private static int[] initCastlingRightsMask() {
+        int[] mask = new int[NUM_TILES];
+        Arrays.fill(mask, WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE |
+                BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        mask[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        mask[63] &= ~WHITE_KING_SIDE_CASTLE;
+        mask[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        mask[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        mask[7] &= ~BLACK_KING_SIDE_CASTLE;
+        mask[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return mask;
+    }
+
     private static boolean[] initColumn(int columnNumber) {
         boolean[] column = new boolean[NUM_TILES];
         do {
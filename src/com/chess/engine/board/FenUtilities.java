@@ -0,0 +1,297 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceType;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+
+/**
+ * Reads and writes boards in Forsyth-Edwards Notation
+ * The fields are read in one pass over the characters, without splitting or regular expressions
+ * A FEN does not tell which pieces have moved, so it is derived:
+ * pawns on their start row have not moved, kings and rooks have not moved when a castling right needs them,
+ * the other pieces count as moved
+ * The move counters may be left out, they then default to 0 and 1
+ * Each side needs exactly one king and no pawn may stand on the first or last rank
+ *
+ * @see <a href="https://www.chessprogramming.org/Forsyth-Edwards_Notation">Forsyth-Edwards Notation</a>
+ */
+public class FenUtilities {
+
+    public static final String STANDARD_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final char[] PIECE_CHARACTERS = {'P', 'N', 'B', 'R', 'Q', 'K', 'p', 'n', 'b', 'r', 'q', 'k'};
+
+    private FenUtilities() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param fen The FEN, e.g. STANDARD_FEN
+     * @return The board
+     * @throws IllegalArgumentException If the FEN is malformed
+     */
+    public static Board createBoardFromFen(final String fen) {
+        final int length = fen.length();
+        int index = skipSpaces(fen, 0);
+
+        final char[] tiles = new char[BoardUtils.NUM_TILES];
+        int coordinate = 0;
+        int separators = 0;
+        for (; index < length && fen.charAt(index) != ' '; index++) {
+            char c = fen.charAt(index);
+            if (c == '/') {
+                if (coordinate != ++separators * BoardUtils.NUM_TILES_PER_ROW) {
+                    throw badFen(fen, "a row is not complete");
+                }
+            } else if (coordinate % BoardUtils.NUM_TILES_PER_ROW == 0 &&
+                    coordinate != separators * BoardUtils.NUM_TILES_PER_ROW) {
+                throw badFen(fen, "a row separator is missing");
+            } else if (c >= '1' && c <= '8') {
+                coordinate += c - '0';
+            } else if (pieceIndex(c) >= 0 && coordinate < BoardUtils.NUM_TILES) {
+                tiles[coordinate++] = c;
+            } else {
+                throw badFen(fen, "unexpected character '" + c + "' in the piece placement");
+            }
+            if (coordinate > BoardUtils.NUM_TILES) {
+                throw badFen(fen, "too many tiles");
+            }
+        }
+        if (coordinate != BoardUtils.NUM_TILES || separators != BoardUtils.NUM_TILES_PER_ROW - 1) {
+            throw badFen(fen, "the piece placement does not cover 64 tiles");
+        }
+        int whiteKings = 0;
+        int blackKings = 0;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            if (tiles[i] == 'K') {
+                whiteKings++;
+            } else if (tiles[i] == 'k') {
+                blackKings++;
+            } else if ((tiles[i] == 'P' || tiles[i] == 'p') &&
+                    (BoardUtils.FIRST_ROW[i] || BoardUtils.EIGHTH_ROW[i])) {
+                throw badFen(fen, "a pawn is on the first or last rank");
+            }
+        }
+        if (whiteKings != 1 || blackKings != 1) {
+            throw badFen(fen, "each side needs exactly one king");
+        }
+
+        index = skipSpaces(fen, index);
+        if (index >= length || (fen.charAt(index) != 'w' && fen.charAt(index) != 'b')) {
+            throw badFen(fen, "the side to move is not w or b");
+        }
+        final Alliance moveMaker = fen.charAt(index++) == 'w' ? Alliance.WHITE : Alliance.BLACK;
+
+        index = skipSpaces(fen, index);
+        int castlingRights = 0;
+        for (; index < length && fen.charAt(index) != ' '; index++) {
+            switch (fen.charAt(index)) {
+                case 'K':
+                    castlingRights |= BoardUtils.WHITE_KING_SIDE_CASTLE;
+                    break;
+                case 'Q':
+                    castlingRights |= BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
+                    break;
+                case 'k':
+                    castlingRights |= BoardUtils.BLACK_KING_SIDE_CASTLE;
+                    break;
+                case 'q':
+                    castlingRights |= BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw badFen(fen, "unexpected character '" + fen.charAt(index) + "' in the castling rights");
+            }
+        }
+
+        index = skipSpaces(fen, index);
+        int enPassantTarget = -1;
+        if (index < length && fen.charAt(index) != '-') {
+            if (index + 1 >= length || fen.charAt(index) < 'a' || fen.charAt(index) > 'h' ||
+                    (fen.charAt(index + 1) != '3' && fen.charAt(index + 1) != '6')) {
+                throw badFen(fen, "bad en passant tile");
+            }
+            enPassantTarget = (fen.charAt(index) - 'a') + ('8' - fen.charAt(index + 1)) * BoardUtils.NUM_TILES_PER_ROW;
+            index += 2;
+        } else {
+            index++;
+        }
+
+        index = skipSpaces(fen, index);
+        int halfMoveClock = 0;
+        int fullMoveNumber = 1;
+        if (index < length) {
+            int end = nextSpace(fen, index);
+            halfMoveClock = parseCounter(fen, index, end);
+            index = skipSpaces(fen, end);
+            if (index < length) {
+                end = nextSpace(fen, index);
+                fullMoveNumber = Math.max(1, parseCounter(fen, index, end));
+            }
+        }
+
+        final Board.Builder builder = new Board.Builder();
+        Pawn enPassantPawn = null;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            if (tiles[i] != 0) {
+                Piece piece = createPiece(tiles[i], i, castlingRights);
+                builder.setPiece(piece);
+                if (enPassantTarget >= 0 && piece.getPieceType() == PieceType.PAWN &&
+                        piece.getPieceAlliance() != moveMaker &&
+                        i == enPassantTarget - BoardUtils.NUM_TILES_PER_ROW * moveMaker.getDirection()) {
+                    enPassantPawn = (Pawn) piece;
+                }
+            }
+        }
+        builder.setMoveMaker(moveMaker);
+        builder.setEnPassantPawn(enPassantPawn);
+        builder.setHalfMoveClock(halfMoveClock);
+        builder.setFullMoveNumber(fullMoveNumber);
+        return builder.build();
+    }
+
+    /**
+     * @param board The board
+     * @return The FEN of the board, with the move counters
+     */
+    public static String createFenFromBoard(final Board board) {
+        final StringBuilder builder = new StringBuilder(90);
+        final BitBoard bitBoard = board.getBitBoard();
+        for (int row = 0; row < BoardUtils.NUM_TILES_PER_ROW; row++) {
+            if (row > 0) {
+                builder.append('/');
+            }
+            int emptyTiles = 0;
+            for (int column = 0; column < BoardUtils.NUM_TILES_PER_ROW; column++) {
+                Piece piece = bitBoard.getPiece(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                if (piece == null) {
+                    emptyTiles++;
+                    continue;
+                }
+                if (emptyTiles > 0) {
+                    builder.append((char) ('0' + emptyTiles));
+                    emptyTiles = 0;
+                }
+                builder.append(PIECE_CHARACTERS[BitBoard.index(piece.getPieceAlliance(), piece.getPieceType())]);
+            }
+            if (emptyTiles > 0) {
+                builder.append((char) ('0' + emptyTiles));
+            }
+        }
+
+        builder.append(board.currentPlayer().getAlliance().isWhite() ? " w " : " b ");
+
+        final int castlingRights = board.getCastlingRights();
+        if (castlingRights == 0) {
+            builder.append('-');
+        } else {
+            if ((castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0) {
+                builder.append('K');
+            }
+            if ((castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0) {
+                builder.append('Q');
+            }
+            if ((castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0) {
+                builder.append('k');
+            }
+            if ((castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0) {
+                builder.append('q');
+            }
+        }
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn == null) {
+            builder.append(" -");
+        } else {
+            builder.append(' ').append(BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition() -
+                    BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceAlliance().getDirection()));
+        }
+        builder.append(' ').append(board.getHalfMoveClock()).append(' ').append(board.getFullMoveNumber());
+        return builder.toString();
+    }
+
+    private static Piece createPiece(final char c, final int coordinate, final int castlingRights) {
+        final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+        switch (Character.toUpperCase(c)) {
+            case 'P':
+                return new Pawn(alliance, coordinate, alliance.isWhite() ? BoardUtils.SEVENTH_ROW[coordinate] :
+                        BoardUtils.SECOND_ROW[coordinate]);
+            case 'N':
+                return new Knight(alliance, coordinate, false);
+            case 'B':
+                return new Bishop(alliance, coordinate, false);
+            case 'R':
+                return new Rook(alliance, coordinate, isCastleRook(alliance, coordinate, castlingRights));
+            case 'Q':
+                return new Queen(alliance, coordinate, false);
+            default:
+                int kingSide = alliance.isWhite() ? BoardUtils.WHITE_KING_SIDE_CASTLE :
+                        BoardUtils.BLACK_KING_SIDE_CASTLE;
+                int queenSide = alliance.isWhite() ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE :
+                        BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+                boolean kingSideCapable = (castlingRights & kingSide) != 0;
+                boolean queenSideCapable = (castlingRights & queenSide) != 0;
+                boolean onStartTile = coordinate == (alliance.isWhite() ? 60 : 4);
+                return new King(alliance, coordinate, onStartTile && (kingSideCapable || queenSideCapable), false,
+                        kingSideCapable, queenSideCapable);
+        }
+    }
+
+    private static boolean isCastleRook(final Alliance alliance, final int coordinate, final int castlingRights) {
+        if (alliance.isWhite()) {
+            return (coordinate == 63 && (castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0) ||
+                    (coordinate == 56 && (castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0);
+        }
+        return (coordinate == 7 && (castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0) ||
+                (coordinate == 0 && (castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0);
+    }
+
+    /**
+     * @return The piece index of the character, see BitBoard.index, or -1
+     */
+    private static int pieceIndex(final char c) {
+        for (int i = 0; i < PIECE_CHARACTERS.length; i++) {
+            if (PIECE_CHARACTERS[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseCounter(final String fen, final int start, final int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9' || value > 100000) {
+                throw badFen(fen, "bad move counter");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int skipSpaces(final String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) == ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int nextSpace(final String fen, int index) {
+        while (index < fen.length() && fen.charAt(index) != ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static IllegalArgumentException badFen(final String fen, final String reason) {
+        return new IllegalArgumentException("Bad FEN, " + reason + ": " + fen);
+    }
+}
@@ -25,10 +25,10 @@ import com.chess.engine.pieces.Rook;
  */
 public abstract class Move {
 
-    protected Board board;
-    protected int destinationCoordinate;
-    protected Piece movedPiece;
-    protected boolean isFirstMove;
+    protected final Board board;
+    protected final int destinationCoordinate;
+    protected final Piece movedPiece;
+    protected final boolean isFirstMove;
 
     public static final Move NULL_MOVE = new NullMove();
 
@@ -116,12 +116,49 @@ public abstract class Move {
         for (Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
             builder.setPiece(piece);
         }
-        builder.setPiece(this.movedPiece.movePiece(this));
+        Piece movedPieceAfter = this.movedPiece.movePiece(this);
+        builder.setPiece(movedPieceAfter);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
         builder.setMoveTransition(this);
+        setMoveCounters(builder);
+        builder.setZobristKey(calculateZobristKey(movedPieceAfter, null));
         return builder.build();
     }
 
+    /**
+     * The half move clock restarts on pawn moves and captures, the full move number goes up after a black move
+     * @param builder The builder of the board the move creates
+     */
+    protected void setMoveCounters(final Builder builder) {
+        builder.setHalfMoveClock(this.movedPiece.getPieceType() == PieceType.PAWN || isAttack() ? 0 :
+                this.board.getHalfMoveClock() + 1);
+        builder.setFullMoveNumber(this.board.getFullMoveNumber() +
+                (this.board.currentPlayer().getAlliance().isBlack() ? 1 : 0));
+    }
+
+    /**
+     * Updates the key of the board the move is made on by the pieces the move changes
+     *
+     * @param movedPieceAfter The moved piece on its destination tile
+     * @param enPassantPawn The en passant pawn of the new board or null
+     * @return The key of the new board
+     */
+    long calculateZobristKey(Piece movedPieceAfter, Pawn enPassantPawn) {
+        long key = this.board.getZobristKey() ^ Zobrist.blackToMoveKey();
+        key ^= Zobrist.pieceKey(this.movedPiece) ^ Zobrist.pieceKey(movedPieceAfter);
+        if (getAttackedPiece() != null) {
+            key ^= Zobrist.pieceKey(getAttackedPiece());
+        }
+        int castlingRights = this.board.getCastlingRights();
+        key ^= Zobrist.castlingKey(castlingRights) ^ Zobrist.castlingKey(castlingRights &
+                BoardUtils.CASTLING_RIGHTS_MASK[getCurrentCoordinate()] &
+                BoardUtils.CASTLING_RIGHTS_MASK[this.destinationCoordinate]);
+        Pawn previousEnPassantPawn = this.board.getEnPassantPawn();
+        key ^= Zobrist.enPassantKey(previousEnPassantPawn != null ? previousEnPassantPawn.getPiecePosition() : -1);
+        key ^= Zobrist.enPassantKey(enPassantPawn != null ? enPassantPawn.getPiecePosition() : -1);
+        return key;
+    }
+
     /**
      * @return Used for printing the moves on the Game History Panel
      */
@@ -137,8 +174,8 @@ public abstract class Move {
 
     public static class PawnPromotion extends PawnMove {
 
-        Move decoratedMove;
-        Pawn promotedPawn;
+        final Move decoratedMove;
+        final Pawn promotedPawn;
 
         public PawnPromotion(Move decoratedMove) {
             super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinate());
@@ -156,21 +193,30 @@ public abstract class Move {
             return this == other || other instanceof PawnPromotion && (super.equals(other));
         }
 
+        /**
+         * Builds the new board directly with the promoted piece instead of executing the pawn move first
+         *
+         * @return The built board
+         */
         @Override
         public Board execute() {
-            Board pawnMovedBoard = this.decoratedMove.execute();
             Board.Builder builder = new Builder();
-            for (Piece piece : pawnMovedBoard.currentPlayer().getActivePieces()) {
+            for (Piece piece : this.board.currentPlayer().getActivePieces()) {
                 if (!this.promotedPawn.equals(piece)) {
                     builder.setPiece(piece);
                 }
             }
-            for (Piece piece : pawnMovedBoard.currentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
+            for (Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
+                if (!piece.equals(getAttackedPiece())) {
+                    builder.setPiece(piece);
+                }
             }
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
-            builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            Piece promotionPiece = this.promotedPawn.getPromotionPiece().movePiece(this);
+            builder.setPiece(promotionPiece);
+            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
+            builder.setZobristKey(calculateZobristKey(promotionPiece, null));
             return builder.build();
         }
 
@@ -298,9 +344,12 @@ public abstract class Move {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
+            Piece movedPieceAfter = this.movedPiece.movePiece(this);
+            builder.setPiece(movedPieceAfter);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
+            builder.setZobristKey(calculateZobristKey(movedPieceAfter, null));
             return builder.build();
         }
     }
@@ -332,6 +381,8 @@ public abstract class Move {
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
+            builder.setZobristKey(calculateZobristKey(movedPawn, movedPawn));
             return builder.build();
         }
 
@@ -344,9 +395,9 @@ public abstract class Move {
 
     static abstract class CastleMove extends Move {
 
-        protected Rook castleRook;
-        protected int castleRookStart;
-        protected int castleRookDestination;
+        protected final Rook castleRook;
+        protected final int castleRookStart;
+        protected final int castleRookDestination;
 
         CastleMove(Board board, Piece pieceMoved, int destinationCoordinate, Rook castleRook, int castleRookStart,
                    int castleRookDestination) {
@@ -373,13 +424,23 @@ public abstract class Move {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
+            Piece movedPieceAfter = this.movedPiece.movePiece(this);
+            builder.setPiece(movedPieceAfter);
             builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
+            builder.setZobristKey(calculateZobristKey(movedPieceAfter, null));
             return builder.build();
         }
 
+        @Override
+        long calculateZobristKey(Piece movedPieceAfter, Pawn enPassantPawn) {
+            return super.calculateZobristKey(movedPieceAfter, enPassantPawn) ^
+                    Zobrist.pieceKey(this.castleRook) ^
+                    Zobrist.pieceKey(this.castleRook.getPieceAlliance(), PieceType.ROOK, this.castleRookDestination);
+        }
+
         @Override
         public int hashCode() {
             int prime = 31;
@@ -459,7 +520,7 @@ public abstract class Move {
 
     public static abstract class AttackMove extends Move {
 
-        private Piece attackedPiece;
+        private final Piece attackedPiece;
 
         AttackMove(Board board, Piece pieceMoved, int destinationCoordinate, Piece pieceAttacked) {
             super(board, pieceMoved, destinationCoordinate);
@@ -517,14 +578,15 @@ public abstract class Move {
             throw new RuntimeException("Not instantiatable!");
         }
 
+        /**
+         * Pawns are only promoted to a queen, so the tiles tell the move apart
+         * @param board The board
+         * @param currentCoordinate The tile of the moved piece
+         * @param destinationCoordinate The destination tile
+         * @return The legal move of the current player between the tiles or NULL_MOVE
+         */
         public static Move createMove(Board board, int currentCoordinate, int destinationCoordinate) {
-            for (Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate &&
-                        move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
-            }
-            return NULL_MOVE;
+            return board.getLegalMove(currentCoordinate, destinationCoordinate);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.chess.engine.board;
+
+/**
+ * The move list class
+ * A fixed size array of packed moves which is cleared and refilled instead of allocated,
+ * a search keeps one move list per ply
+ * Each move has an ordering score, pickBest selects the best remaining move one at a time,
+ * which is cheaper than a full sort when an early move cuts off the search
+ *
+ * @see PackedMove
+ */
+public class MoveList {
+
+    private final int[] moves;
+    private final int[] scores;
+    private int size;
+
+    public MoveList() {
+        this(SearchBoard.MAX_MOVES);
+    }
+
+    /**
+     * @param capacity The maximum number of moves
+     */
+    public MoveList(int capacity) {
+        this.moves = new int[capacity];
+        this.scores = new int[capacity];
+    }
+
+    public void add(final int move) {
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    public int getScore(final int index) {
+        return this.scores[index];
+    }
+
+    public void setScore(final int index, final int score) {
+        this.scores[index] = score;
+    }
+
+    public void swap(final int first, final int second) {
+        int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+        int score = this.scores[first];
+        this.scores[first] = this.scores[second];
+        this.scores[second] = score;
+    }
+
+    /**
+     * Swaps the remaining move with the highest score to the index, the first of equal moves wins
+     * @param index The index of the next move to search, the moves before it are searched already
+     * @return The move now at the index
+     */
+    public int pickBest(final int index) {
+        int best = index;
+        for (int i = index + 1; i < this.size; i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            swap(index, best);
+        }
+        return this.moves[index];
+    }
+
+    /**
+     * @param move The packed move
+     * @return The index of the move or -1 if the list does not hold it
+     */
+    public int indexOf(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.size; i++) {
+            builder.append(i == 0 ? "" : " ").append(PackedMove.toString(this.moves[i]));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package com.chess.engine.board;
+
+import com.chess.engine.board.Move.KingSideCastleMove;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.Move.PawnEnPassantAttack;
+import com.chess.engine.board.Move.PawnJump;
+import com.chess.engine.board.Move.PawnPromotion;
+import com.chess.engine.board.Move.QueenSideCastleMove;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The packed move class
+ * A move is packed into the low 16 bits of an int so the search keeps moves in primitive arrays
+ * instead of allocating a Move holding its board and pieces
+ * bits 0-5 the current coordinate
+ * bits 6-11 the destination coordinate
+ * bits 12-15 the flags: 0 quiet, 1 pawn jump, 2 king side castle, 3 queen side castle, 4 capture,
+ * 5 en passant, 8-11 promotion to knight, bishop, rook or queen, 12-15 the same promotions with a capture
+ * 0 (a8 to a8) is never a move and stands for no move
+ *
+ * @see <a href="https://www.chessprogramming.org/Encoding_Moves">Encoding moves</a>
+ */
+public class PackedMove {
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8;
+    public static final int QUEEN_PROMOTION = PROMOTION | 3;
+
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK,
+            PieceType.QUEEN};
+
+    private PackedMove() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param from The current coordinate
+     * @param to The destination coordinate
+     * @param flags The move flags, CAPTURE may be added to a promotion
+     * @return The packed move
+     */
+    public static int create(final int from, final int to, final int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int getFrom(final int move) {
+        return move & 63;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int getFlags(final int move) {
+        return (move >>> 12) & 15;
+    }
+
+    /**
+     * @return True for captures, en passant and capturing promotions
+     */
+    public static boolean isCapture(final int move) {
+        return (getFlags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (getFlags(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(final int move) {
+        int flags = getFlags(move);
+        return flags == KING_SIDE_CASTLE || flags == QUEEN_SIDE_CASTLE;
+    }
+
+    public static boolean isEnPassant(final int move) {
+        return getFlags(move) == EN_PASSANT;
+    }
+
+    /**
+     * @param move A promotion
+     * @return The piece type the pawn is promoted to
+     */
+    public static PieceType getPromotionType(final int move) {
+        return PROMOTION_TYPES[getFlags(move) & 3];
+    }
+
+    /**
+     * @param move The move
+     * @return The packed move, NULL_MOVE for the null move
+     */
+    public static int fromMove(final Move move) {
+        if (move == null || move instanceof Move.NullMove) {
+            return NULL_MOVE;
+        }
+        int flags;
+        if (move instanceof KingSideCastleMove) {
+            flags = KING_SIDE_CASTLE;
+        } else if (move instanceof QueenSideCastleMove) {
+            flags = QUEEN_SIDE_CASTLE;
+        } else if (move instanceof PawnJump) {
+            flags = PAWN_JUMP;
+        } else if (move instanceof PawnEnPassantAttack) {
+            flags = EN_PASSANT;
+        } else if (move instanceof PawnPromotion) {
+            flags = QUEEN_PROMOTION | (move.isAttack() ? CAPTURE : QUIET);
+        } else {
+            flags = move.isAttack() ? CAPTURE : QUIET;
+        }
+        return create(move.getCurrentCoordinate(), move.getDestinationCoordinate(), flags);
+    }
+
+    /**
+     * Looks the move up among the legal moves of the board, used by the gui and the notation code
+     * @param board The board the move is made on
+     * @param move The packed move
+     * @return The legal move with the same tiles or Move.NULL_MOVE
+     */
+    public static Move toMove(final Board board, final int move) {
+        if (move == NULL_MOVE) {
+            return Move.NULL_MOVE;
+        }
+        return MoveFactory.createMove(board, getFrom(move), getTo(move));
+    }
+
+    /**
+     * @param move The packed move
+     * @return The move in long algebraic notation, e.g. e2e4 or e7e8q
+     */
+    public static String toString(final int move) {
+        if (move == NULL_MOVE) {
+            return "0000";
+        }
+        String text = BoardUtils.getPositionAtCoordinate(getFrom(move)) +
+                BoardUtils.getPositionAtCoordinate(getTo(move));
+        return isPromotion(move) ? text + getPromotionType(move).toString().toLowerCase() : text;
+    }
+}
@@ -0,0 +1,682 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.eval.NnueAccumulator;
+import com.chess.engine.eval.PieceSquareTables;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceType;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+
+import java.util.Arrays;
+
+/**
+ * The mutable search board
+ * Moves are made and unmade in place with an undo stack so a search does not create
+ * a new board, builder and players for every move
+ * The position is kept in primitive arrays only:
+ * a mailbox of piece codes, one bit board per piece code and the alliance occupancy masks
+ * A piece code is 0 for an empty tile, otherwise 1 + BitBoard.index(alliance, pieceType)
+ * The unmoved bit board tracks the pieces that have not moved yet (Piece.isFirstMove)
+ * so a search board converts back to an equal immutable Board
+ * The Zobrist key is updated with every change and restored from the undo stack,
+ * the pawn key holds the pawn part of it for the pawn hash table
+ * The material and piece square score and the game phase are updated with every change too,
+ * so the evaluator does not loop over the pieces for them, the same goes for an attached NnueAccumulator
+ * Moves are packed ints, see PackedMove, and are generated into a reusable MoveList
+ * The keys of the game boards since the last pawn move or capture are copied from the transition moves
+ * of the immutable board, with the undo keys they tell a repetition of an earlier board
+ */
+public class SearchBoard {
+
+    public static final int NO_EN_PASSANT = -1;
+    public static final int MAX_MOVES = 256;
+
+    private static final int EMPTY_TILE = 0;
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+    private static final int NUM_PIECE_TYPES = 6;
+
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+
+
+    private static final int INITIAL_UNDO_CAPACITY = 128;
+
+    private static final Alliance[] ALLIANCES = Alliance.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private final int[] squares;
+    private final long[] pieceBoards;
+    private final long[] allianceOccupancy;
+    private long unmoved;
+    private int castled;
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantPawn;
+    private int halfMoveClock;
+    private int fullMoveNumber;
+    private long zobristKey;
+    private long pawnKey;
+    private int taperedScore;
+    private int phase;
+    private NnueAccumulator accumulator;
+
+    private int[] undoMoves;
+    private int[] undoCaptured;
+    private int[] undoCapturedCoordinate;
+    private int[] undoState;
+    private long[] undoUnmoved;
+    private long[] undoKeys;
+    private int[] undoHalfMoveClocks;
+    private int ply;
+    /**
+     * The keys of the game boards before the first board, oldest first
+     */
+    private long[] gameKeys;
+
+    private SearchBoard() {
+        this.squares = new int[BoardUtils.NUM_TILES];
+        this.pieceBoards = new long[2 * NUM_PIECE_TYPES + 1];
+        this.allianceOccupancy = new long[2];
+        this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCaptured = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCapturedCoordinate = new int[INITIAL_UNDO_CAPACITY];
+        this.undoState = new int[INITIAL_UNDO_CAPACITY];
+        this.undoUnmoved = new long[INITIAL_UNDO_CAPACITY];
+        this.undoKeys = new long[INITIAL_UNDO_CAPACITY];
+        this.undoHalfMoveClocks = new int[INITIAL_UNDO_CAPACITY];
+        this.enPassantPawn = NO_EN_PASSANT;
+        this.fullMoveNumber = 1;
+        this.gameKeys = new long[0];
+    }
+
+    /**
+     * Copies the pieces, the side to move, the castle capable kings, the en passant pawn and the move counters
+     * and the keys of the boards before it since the last pawn move or capture
+     * @param board The immutable board
+     * @return A search board holding the same position
+     */
+    public static SearchBoard fromBoard(final Board board) {
+        SearchBoard searchBoard = new SearchBoard();
+        for (Piece piece : board.getAllPieces()) {
+            int coordinate = piece.getPiecePosition();
+            searchBoard.putPiece(coordinate, pieceCode(piece.getPieceAlliance(), piece.getPieceType()));
+            if (piece.isFirstMove()) {
+                searchBoard.unmoved |= BitBoard.bit(coordinate);
+            }
+            if (piece.getPieceType().isKing() && ((King) piece).isCastled()) {
+                searchBoard.castled |= 1 << piece.getPieceAlliance().ordinal();
+            }
+        }
+        searchBoard.sideToMove = board.currentPlayer().getAlliance().ordinal();
+        searchBoard.castlingRights = board.getCastlingRights();
+        searchBoard.enPassantPawn = board.getEnPassantPawn() != null ?
+                board.getEnPassantPawn().getPiecePosition() : NO_EN_PASSANT;
+        searchBoard.halfMoveClock = board.getHalfMoveClock();
+        searchBoard.fullMoveNumber = board.getFullMoveNumber();
+        searchBoard.zobristKey = board.getZobristKey();
+        searchBoard.gameKeys = gameKeys(board);
+        return searchBoard;
+    }
+
+    /**
+     * Follows the transition moves back, a board made from a FEN has none and ends the game keys there
+     */
+    private static long[] gameKeys(final Board board) {
+        long[] keys = new long[board.getHalfMoveClock()];
+        int count = 0;
+        Board gameBoard = board;
+        while (count < keys.length && gameBoard.getTransitionMove() != Move.NULL_MOVE) {
+            gameBoard = gameBoard.getTransitionMove().getBoard();
+            keys[keys.length - ++count] = gameBoard.getZobristKey();
+        }
+        return Arrays.copyOfRange(keys, keys.length - count, keys.length);
+    }
+
+    /**
+     * Builds an immutable board holding the current position
+     * @return The board
+     */
+    public Board toBoard() {
+        Board.Builder builder = new Board.Builder();
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            if (this.squares[coordinate] != EMPTY_TILE) {
+                builder.setPiece(createPiece(coordinate));
+            }
+        }
+        if (this.enPassantPawn != NO_EN_PASSANT) {
+            builder.setEnPassantPawn((Pawn) builder.boardConfig.get(this.enPassantPawn));
+        }
+        builder.setMoveMaker(getSideToMove());
+        builder.setHalfMoveClock(this.halfMoveClock);
+        builder.setFullMoveNumber(this.fullMoveNumber);
+        return builder.build();
+    }
+
+    public Alliance getSideToMove() {
+        return ALLIANCES[this.sideToMove];
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * @return The coordinate of the pawn which has just jumped or NO_EN_PASSANT
+     */
+    public int getEnPassantPawn() {
+        return this.enPassantPawn;
+    }
+
+    /**
+     * @return The half moves since the last pawn move or capture, for the fifty move rule
+     */
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    /**
+     * @return The number of the full move, starting at 1 and incremented after each black move
+     */
+    public int getFullMoveNumber() {
+        return this.fullMoveNumber;
+    }
+
+    /**
+     * @return The Zobrist key, equal to the key of the immutable board with the same position
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * @return The Zobrist key of the pawns only, the key of the pawn structure
+     */
+    public long getPawnKey() {
+        return this.pawnKey;
+    }
+
+    /**
+     * @return The packed material and piece square score of white minus black, see TaperedScore
+     */
+    public int getTaperedScore() {
+        return this.taperedScore;
+    }
+
+    /**
+     * @return The game phase of the pieces on the board, see TaperedScore.MAX_PHASE
+     */
+    public int getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * @return The neural network accumulator kept up to date by this board or null
+     */
+    public NnueAccumulator getAccumulator() {
+        return this.accumulator;
+    }
+
+    /**
+     * Attaches the accumulator and refreshes it from the pieces, every later change updates it
+     * @param accumulator The accumulator or null to stop updating one
+     */
+    public void setAccumulator(final NnueAccumulator accumulator) {
+        this.accumulator = accumulator;
+        if (accumulator != null) {
+            accumulator.refresh(this);
+        }
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    /**
+     * Looks back over the boards with the same side to move since the last pawn move, capture or null move
+     * @return True if the board equals an earlier board of the search or the game
+     */
+    public boolean isRepetition() {
+        int distance = Math.min(this.halfMoveClock, this.ply + this.gameKeys.length);
+        for (int back = 1; back <= distance; back++) {
+            if (back <= this.ply && this.undoMoves[this.ply - back] == PackedMove.NULL_MOVE) {
+                return false;
+            }
+            if ((back & 1) == 0 && this.zobristKey == (back <= this.ply ? this.undoKeys[this.ply - back] :
+                    this.gameKeys[this.gameKeys.length - back + this.ply])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if fifty moves of each side were made without a pawn move or capture
+     */
+    public boolean isFiftyMoveDraw() {
+        return this.halfMoveClock >= 100;
+    }
+
+    public boolean isOccupied(final int coordinate) {
+        return this.squares[coordinate] != EMPTY_TILE;
+    }
+
+    public long getOccupancy() {
+        return this.allianceOccupancy[WHITE] | this.allianceOccupancy[BLACK];
+    }
+
+    public long getAllianceOccupancy(final Alliance alliance) {
+        return this.allianceOccupancy[alliance.ordinal()];
+    }
+
+    public long getPieceBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBoards[pieceCode(alliance, pieceType)];
+    }
+
+    /**
+     * @param coordinate Integer coordinate between 0 and 63
+     * @return The piece type on the tile or null for an empty tile
+     */
+    public PieceType getPieceType(final int coordinate) {
+        int code = this.squares[coordinate];
+        return code == EMPTY_TILE ? null : PIECE_TYPES[typeOf(code)];
+    }
+
+    /**
+     * @param coordinate Integer coordinate between 0 and 63
+     * @return The alliance of the piece on the tile or null for an empty tile
+     */
+    public Alliance getPieceAlliance(final int coordinate) {
+        int code = this.squares[coordinate];
+        return code == EMPTY_TILE ? null : ALLIANCES[allianceOf(code)];
+    }
+
+    /**
+     * @return True if the king of the side to move is attacked
+     */
+    public boolean isInCheck() {
+        return isKingAttacked(this.sideToMove);
+    }
+
+    /**
+     * @param coordinate The attacked coordinate
+     * @param attacker The attacking alliance
+     * @return True if any attacker piece attacks the coordinate
+     */
+    public boolean isSquareAttacked(final int coordinate, final Alliance attacker) {
+        return isAttacked(coordinate, attacker.ordinal());
+    }
+
+    /**
+     * Looks up the attacks from the tile itself, the same lookup as BitBoard.calculateAttackers
+     * @param coordinate The attacked coordinate
+     * @param attacker The attacking alliance
+     * @param occupancy The occupied tiles the sliding attacks stop at, e.g. with exchanged pieces taken off
+     * @return The tiles of the attacker pieces which attack the coordinate
+     */
+    public long getAttackers(final int coordinate, final Alliance attacker, final long occupancy) {
+        int side = attacker.ordinal();
+        long queens = this.pieceBoards[pieceCode(side, QUEEN)];
+        return (AttackTables.pawnAttacks(side ^ 1, coordinate) & this.pieceBoards[pieceCode(side, PAWN)]) |
+                (AttackTables.knightAttacks(coordinate) & this.pieceBoards[pieceCode(side, KNIGHT)]) |
+                (AttackTables.kingAttacks(coordinate) & this.pieceBoards[pieceCode(side, KING)]) |
+                (AttackTables.rookAttacks(coordinate, occupancy) & (this.pieceBoards[pieceCode(side, ROOK)] | queens)) |
+                (AttackTables.bishopAttacks(coordinate, occupancy) &
+                        (this.pieceBoards[pieceCode(side, BISHOP)] | queens));
+    }
+
+    /**
+     * Makes a move created for the equal immutable board
+     * @param move The move
+     * @return True if the move was made, false if it would leave the king in check
+     */
+    public boolean makeMove(final Move move) {
+        return makeMove(PackedMove.fromMove(move));
+    }
+
+    /**
+     * Moves the piece in place and pushes the undo information
+     * The move flags tell castle moves, en passant attacks and promotions apart
+     * If the move leaves the own king in check it is taken back
+     * @param move The packed move
+     * @return True if the move was made, false if it would leave the king in check
+     */
+    public boolean makeMove(final int move) {
+        ensureUndoCapacity();
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        int flags = PackedMove.getFlags(move);
+        int movedCode = this.squares[from];
+        int movedType = typeOf(movedCode);
+        int us = this.sideToMove;
+        int capturedCoordinate = flags == PackedMove.EN_PASSANT ? this.enPassantPawn : to;
+        int capturedCode = this.squares[capturedCoordinate];
+
+        this.undoMoves[this.ply] = move;
+        this.undoCaptured[this.ply] = capturedCode;
+        this.undoCapturedCoordinate[this.ply] = capturedCoordinate;
+        this.undoState[this.ply] = this.castlingRights | (this.castled << 4) | ((this.enPassantPawn + 1) << 8) |
+                (movedCode << 16);
+        this.undoUnmoved[this.ply] = this.unmoved;
+        this.undoKeys[this.ply] = this.zobristKey;
+        this.undoHalfMoveClocks[this.ply] = this.halfMoveClock;
+        this.ply++;
+
+        if (capturedCode != EMPTY_TILE) {
+            removePiece(capturedCoordinate);
+        }
+        removePiece(from);
+        if ((flags & PackedMove.PROMOTION) != 0) {
+            putPiece(to, pieceCode(us, PackedMove.getPromotionType(move).ordinal()));
+        } else {
+            putPiece(to, movedCode);
+        }
+        if (flags == PackedMove.KING_SIDE_CASTLE || flags == PackedMove.QUEEN_SIDE_CASTLE) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            int rookTo = to > from ? from + 1 : from - 1;
+            int rookCode = removePiece(rookFrom);
+            putPiece(rookTo, rookCode);
+            this.unmoved &= ~BitBoard.bit(rookFrom);
+            this.castled |= 1 << us;
+        }
+
+        this.unmoved &= ~(BitBoard.bit(from) | BitBoard.bit(to));
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantPawn);
+        this.castlingRights &= BoardUtils.CASTLING_RIGHTS_MASK[from] & BoardUtils.CASTLING_RIGHTS_MASK[to];
+        this.enPassantPawn = flags == PackedMove.PAWN_JUMP ? to : NO_EN_PASSANT;
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantPawn) ^
+                Zobrist.blackToMoveKey();
+        this.sideToMove = us ^ 1;
+        this.halfMoveClock = movedType == PAWN || capturedCode != EMPTY_TILE ? 0 : this.halfMoveClock + 1;
+        if (us == BLACK) {
+            this.fullMoveNumber++;
+        }
+
+        if (isKingAttacked(us)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes back the last made move from the undo stack
+     */
+    public void unmakeMove() {
+        this.ply--;
+        int move = this.undoMoves[this.ply];
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        int state = this.undoState[this.ply];
+        this.sideToMove ^= 1;
+
+        int movedCode = state >>> 16;
+
+        removePiece(to);
+        if (PackedMove.isCastle(move)) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            int rookTo = to > from ? from + 1 : from - 1;
+            putPiece(rookFrom, removePiece(rookTo));
+        }
+        putPiece(from, movedCode);
+        int capturedCode = this.undoCaptured[this.ply];
+        if (capturedCode != EMPTY_TILE) {
+            putPiece(this.undoCapturedCoordinate[this.ply], capturedCode);
+        }
+        this.castlingRights = state & 15;
+        this.castled = (state >>> 4) & 3;
+        this.enPassantPawn = ((state >>> 8) & 127) - 1;
+        this.unmoved = this.undoUnmoved[this.ply];
+        this.zobristKey = this.undoKeys[this.ply];
+        this.halfMoveClock = this.undoHalfMoveClocks[this.ply];
+        if (this.sideToMove == BLACK) {
+            this.fullMoveNumber--;
+        }
+    }
+
+    /**
+     * Passes the turn to the opponent without moving a piece, used by the null move pruning of the search
+     * The en passant pawn is cleared and the move counters are kept, the side to move must not be in check
+     */
+    public void makeNullMove() {
+        ensureUndoCapacity();
+        this.undoMoves[this.ply] = PackedMove.NULL_MOVE;
+        this.undoCaptured[this.ply] = EMPTY_TILE;
+        this.undoCapturedCoordinate[this.ply] = NO_EN_PASSANT;
+        this.undoState[this.ply] = this.castlingRights | (this.castled << 4) | ((this.enPassantPawn + 1) << 8);
+        this.undoUnmoved[this.ply] = this.unmoved;
+        this.undoKeys[this.ply] = this.zobristKey;
+        this.ply++;
+
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantPawn) ^ Zobrist.enPassantKey(NO_EN_PASSANT) ^
+                Zobrist.blackToMoveKey();
+        this.enPassantPawn = NO_EN_PASSANT;
+        this.sideToMove ^= 1;
+    }
+
+    /**
+     * Takes back the null move made last
+     */
+    public void unmakeNullMove() {
+        this.ply--;
+        this.sideToMove ^= 1;
+        this.enPassantPawn = ((this.undoState[this.ply] >>> 8) & 127) - 1;
+        this.zobristKey = this.undoKeys[this.ply];
+    }
+
+    /**
+     * @return The packed move made last, PackedMove.NULL_MOVE after a null move or when no move was made
+     */
+    public int getLastMove() {
+        return this.ply == 0 ? PackedMove.NULL_MOVE : this.undoMoves[this.ply - 1];
+    }
+
+    /**
+     * Generates the moves of the side to move without checking if they leave the king in check,
+     * makeMove rejects those, castle moves are only generated when the king does not pass an attacked tile
+     * Pawns are promoted to a queen only, as Pawn.getPromotionPiece does
+     * @param moves The move list, cleared and refilled
+     */
+    public void generatePseudoLegalMoves(final MoveList moves) {
+        moves.clear();
+        int us = this.sideToMove;
+        long pieces = this.allianceOccupancy[us];
+        long occupancy = getOccupancy();
+        while (pieces != 0L) {
+            int from = BitBoard.firstCoordinate(pieces);
+            pieces &= pieces - 1;
+            int type = typeOf(this.squares[from]);
+            if (type == PAWN) {
+                generatePawnMoves(from, us, moves);
+            } else if (type == KNIGHT) {
+                generateAttackMoves(from, AttackTables.knightAttacks(from), us, moves);
+            } else if (type == KING) {
+                generateAttackMoves(from, AttackTables.kingAttacks(from), us, moves);
+                generateCastleMoves(from, us, moves);
+            } else if (type == BISHOP) {
+                generateAttackMoves(from, AttackTables.bishopAttacks(from, occupancy), us, moves);
+            } else if (type == ROOK) {
+                generateAttackMoves(from, AttackTables.rookAttacks(from, occupancy), us, moves);
+            } else {
+                generateAttackMoves(from, AttackTables.queenAttacks(from, occupancy), us, moves);
+            }
+        }
+    }
+
+    private void generatePawnMoves(final int from, final int us, final MoveList moves) {
+        int direction = us == WHITE ? -8 : 8;
+        int oneStep = from + direction;
+        if (this.squares[oneStep] == EMPTY_TILE) {
+            moves.add(PackedMove.create(from, oneStep,
+                    isPromotionCoordinate(us, oneStep) ? PackedMove.QUEEN_PROMOTION : PackedMove.QUIET));
+            int twoStep = oneStep + direction;
+            if ((this.unmoved & BitBoard.bit(from)) != 0L && isPawnStartCoordinate(us, from) &&
+                    this.squares[twoStep] == EMPTY_TILE) {
+                moves.add(PackedMove.create(from, twoStep, PackedMove.PAWN_JUMP));
+            }
+        }
+        long attacks = AttackTables.pawnAttacks(us, from);
+        long targets = attacks & this.allianceOccupancy[us ^ 1];
+        while (targets != 0L) {
+            int to = BitBoard.firstCoordinate(targets);
+            targets &= targets - 1;
+            moves.add(PackedMove.create(from, to, isPromotionCoordinate(us, to) ?
+                    PackedMove.QUEEN_PROMOTION | PackedMove.CAPTURE : PackedMove.CAPTURE));
+        }
+        if (this.enPassantPawn != NO_EN_PASSANT &&
+                (attacks & BitBoard.bit(this.enPassantPawn + direction)) != 0L) {
+            moves.add(PackedMove.create(from, this.enPassantPawn + direction, PackedMove.EN_PASSANT));
+        }
+    }
+
+    private void generateAttackMoves(final int from, final long attacks, final int us, final MoveList moves) {
+        long targets = attacks & ~this.allianceOccupancy[us];
+        while (targets != 0L) {
+            int to = BitBoard.firstCoordinate(targets);
+            targets &= targets - 1;
+            moves.add(PackedMove.create(from, to, this.squares[to] == EMPTY_TILE ? PackedMove.QUIET : PackedMove.CAPTURE));
+        }
+    }
+
+    private void generateCastleMoves(final int from, final int us, final MoveList moves) {
+        int kingSide = us == WHITE ? BoardUtils.WHITE_KING_SIDE_CASTLE : BoardUtils.BLACK_KING_SIDE_CASTLE;
+        int queenSide = us == WHITE ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isAttacked(from, us ^ 1)) {
+            return;
+        }
+        if ((this.castlingRights & kingSide) != 0 && this.squares[from + 1] == EMPTY_TILE &&
+                this.squares[from + 2] == EMPTY_TILE && !isAttacked(from + 1, us ^ 1) &&
+                !isAttacked(from + 2, us ^ 1)) {
+            moves.add(PackedMove.create(from, from + 2, PackedMove.KING_SIDE_CASTLE));
+        }
+        if ((this.castlingRights & queenSide) != 0 && this.squares[from - 1] == EMPTY_TILE &&
+                this.squares[from - 2] == EMPTY_TILE && this.squares[from - 3] == EMPTY_TILE &&
+                !isAttacked(from - 1, us ^ 1) && !isAttacked(from - 2, us ^ 1)) {
+            moves.add(PackedMove.create(from, from - 2, PackedMove.QUEEN_SIDE_CASTLE));
+        }
+    }
+
+    private boolean isKingAttacked(final int alliance) {
+        long king = this.pieceBoards[pieceCode(alliance, KING)];
+        return king != 0L && isAttacked(BitBoard.firstCoordinate(king), alliance ^ 1);
+    }
+
+    /**
+     * Looks from the attacked coordinate outwards for the pieces which could attack it
+     */
+    private boolean isAttacked(final int coordinate, final int attacker) {
+        if ((AttackTables.pawnAttacks(attacker ^ 1, coordinate) & this.pieceBoards[pieceCode(attacker, PAWN)]) != 0L ||
+                (AttackTables.knightAttacks(coordinate) & this.pieceBoards[pieceCode(attacker, KNIGHT)]) != 0L ||
+                (AttackTables.kingAttacks(coordinate) & this.pieceBoards[pieceCode(attacker, KING)]) != 0L) {
+            return true;
+        }
+        long occupancy = getOccupancy();
+        long queens = this.pieceBoards[pieceCode(attacker, QUEEN)];
+        return (AttackTables.rookAttacks(coordinate, occupancy) &
+                (this.pieceBoards[pieceCode(attacker, ROOK)] | queens)) != 0L ||
+                (AttackTables.bishopAttacks(coordinate, occupancy) &
+                        (this.pieceBoards[pieceCode(attacker, BISHOP)] | queens)) != 0L;
+    }
+
+    private void putPiece(final int coordinate, final int code) {
+        long bit = BitBoard.bit(coordinate);
+        this.squares[coordinate] = code;
+        this.zobristKey ^= Zobrist.pieceKey(code - 1, coordinate);
+        if (typeOf(code) == PAWN) {
+            this.pawnKey ^= Zobrist.pieceKey(code - 1, coordinate);
+        }
+        this.taperedScore += PieceSquareTables.score(code - 1, coordinate);
+        this.phase += PieceSquareTables.phase(code - 1);
+        if (this.accumulator != null) {
+            this.accumulator.addPiece(code - 1, coordinate);
+        }
+        this.pieceBoards[code] |= bit;
+        this.allianceOccupancy[allianceOf(code)] |= bit;
+    }
+
+    private int removePiece(final int coordinate) {
+        int code = this.squares[coordinate];
+        long bit = BitBoard.bit(coordinate);
+        this.squares[coordinate] = EMPTY_TILE;
+        this.zobristKey ^= Zobrist.pieceKey(code - 1, coordinate);
+        if (typeOf(code) == PAWN) {
+            this.pawnKey ^= Zobrist.pieceKey(code - 1, coordinate);
+        }
+        this.taperedScore -= PieceSquareTables.score(code - 1, coordinate);
+        this.phase -= PieceSquareTables.phase(code - 1);
+        if (this.accumulator != null) {
+            this.accumulator.removePiece(code - 1, coordinate);
+        }
+        this.pieceBoards[code] &= ~bit;
+        this.allianceOccupancy[allianceOf(code)] &= ~bit;
+        return code;
+    }
+
+    private void ensureUndoCapacity() {
+        if (this.ply == this.undoMoves.length) {
+            int capacity = this.ply * 2;
+            this.undoMoves = Arrays.copyOf(this.undoMoves, capacity);
+            this.undoCaptured = Arrays.copyOf(this.undoCaptured, capacity);
+            this.undoCapturedCoordinate = Arrays.copyOf(this.undoCapturedCoordinate, capacity);
+            this.undoState = Arrays.copyOf(this.undoState, capacity);
+            this.undoUnmoved = Arrays.copyOf(this.undoUnmoved, capacity);
+            this.undoKeys = Arrays.copyOf(this.undoKeys, capacity);
+            this.undoHalfMoveClocks = Arrays.copyOf(this.undoHalfMoveClocks, capacity);
+        }
+    }
+
+    private Piece createPiece(final int coordinate) {
+        int code = this.squares[coordinate];
+        Alliance alliance = ALLIANCES[allianceOf(code)];
+        boolean isFirstMove = (this.unmoved & BitBoard.bit(coordinate)) != 0L;
+        int type = typeOf(code);
+        if (type == PAWN) {
+            return new Pawn(alliance, coordinate, isFirstMove);
+        } else if (type == KNIGHT) {
+            return new Knight(alliance, coordinate, isFirstMove);
+        } else if (type == BISHOP) {
+            return new Bishop(alliance, coordinate, isFirstMove);
+        } else if (type == ROOK) {
+            return new Rook(alliance, coordinate, isFirstMove);
+        } else if (type == QUEEN) {
+            return new Queen(alliance, coordinate, isFirstMove);
+        }
+        int kingSide = alliance.isWhite() ? BoardUtils.WHITE_KING_SIDE_CASTLE : BoardUtils.BLACK_KING_SIDE_CASTLE;
+        int queenSide = alliance.isWhite() ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+        return new King(alliance, coordinate, isFirstMove, (this.castled & (1 << alliance.ordinal())) != 0,
+                (this.castlingRights & kingSide) != 0, (this.castlingRights & queenSide) != 0);
+    }
+
+    private static boolean isPromotionCoordinate(final int alliance, final int coordinate) {
+        return alliance == WHITE ? coordinate < 8 : coordinate >= 56;
+    }
+
+    private static boolean isPawnStartCoordinate(final int alliance, final int coordinate) {
+        return alliance == WHITE ? BoardUtils.SEVENTH_ROW[coordinate] : BoardUtils.SECOND_ROW[coordinate];
+    }
+
+    private static int pieceCode(final Alliance alliance, final PieceType pieceType) {
+        return 1 + BitBoard.index(alliance, pieceType);
+    }
+
+    private static int pieceCode(final int alliance, final int pieceType) {
+        return 1 + alliance * NUM_PIECE_TYPES + pieceType;
+    }
+
+    private static int typeOf(final int code) {
+        return (code - 1) % NUM_PIECE_TYPES;
+    }
+
+    private static int allianceOf(final int code) {
+        return (code - 1) / NUM_PIECE_TYPES;
+    }
+}
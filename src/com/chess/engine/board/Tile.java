@@ -17,7 +17,7 @@ public abstract class Tile {
     private static final Map<Integer, EmptyTile> EMPTY_TILES = createAllPossibleEmptyTiles();
     private static final Table<Integer, Piece, OccupiedTile> OCCUPIED_TILES = createAllPossibleOccupiedTiles();
 
-    protected int tileCoordinate;
+    protected final int tileCoordinate;
 
     private Tile(int coordinate) {
         this.tileCoordinate = coordinate;
@@ -135,7 +135,7 @@ public abstract class Tile {
 
     public static class OccupiedTile extends Tile {
 
-        private Piece pieceOnTile;
+        private final Piece pieceOnTile;
 
         private OccupiedTile(int coordinate, Piece pieceOnTile) {
             super(coordinate);
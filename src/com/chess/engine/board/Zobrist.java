@@ -0,0 +1,116 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The Zobrist hashing class
+ * A board key is the XOR of one random number per piece on its tile, one for black to move,
+ * one per castling right combination and one per file of the en passant pawn
+ * Making a move XORs out what changed and XORs in the new state, so keys are updated incrementally
+ * The random numbers come from a fixed seed so keys are the same in every run
+ *
+ * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">Zobrist hashing</a>
+ */
+public class Zobrist {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[] PIECE_KEYS;
+    private static final long[] CASTLING_KEYS;
+    private static final long[] EN_PASSANT_KEYS;
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        long[] state = {SEED};
+        PIECE_KEYS = randomKeys(state, Alliance.values().length * PieceType.values().length * BoardUtils.NUM_TILES);
+        CASTLING_KEYS = randomKeys(state, 16);
+        CASTLING_KEYS[0] = 0L;
+        EN_PASSANT_KEYS = randomKeys(state, BoardUtils.NUM_TILES_PER_ROW);
+        BLACK_TO_MOVE_KEY = nextRandom(state);
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param alliance The piece alliance
+     * @param pieceType The piece type
+     * @param coordinate The tile of the piece
+     * @return The key of the piece on the tile
+     */
+    public static long pieceKey(final Alliance alliance, final PieceType pieceType, final int coordinate) {
+        return PIECE_KEYS[BitBoard.index(alliance, pieceType) * BoardUtils.NUM_TILES + coordinate];
+    }
+
+    /**
+     * @param pieceIndex The piece index, see BitBoard.index
+     * @param coordinate The tile of the piece
+     * @return The key of the piece on the tile
+     */
+    static long pieceKey(final int pieceIndex, final int coordinate) {
+        return PIECE_KEYS[pieceIndex * BoardUtils.NUM_TILES + coordinate];
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition());
+    }
+
+    /**
+     * @param castlingRights The castling right bits, see BoardUtils.WHITE_KING_SIDE_CASTLE
+     * @return The key of the castling right combination, 0 when nobody may castle
+     */
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * @param enPassantPawn The coordinate of the pawn which has just jumped or -1
+     * @return The key of the file of the pawn, 0 when there is no en passant pawn
+     */
+    public static long enPassantKey(final int enPassantPawn) {
+        return enPassantPawn < 0 ? 0L : EN_PASSANT_KEYS[enPassantPawn & 7];
+    }
+
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Calculates the key of a board from scratch, used when a board is not the result of a move
+     * @param board The board
+     * @return The board key
+     */
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+        for (Piece piece : board.getAllPieces()) {
+            key ^= pieceKey(piece);
+        }
+        key ^= castlingKey(board.getCastlingRights());
+        key ^= enPassantKey(board.getEnPassantPawn() != null ? board.getEnPassantPawn().getPiecePosition() : -1);
+        if (board.currentPlayer().getAlliance().isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key;
+    }
+
+    private static long[] randomKeys(final long[] state, final int count) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = nextRandom(state);
+        }
+        return keys;
+    }
+
+    /**
+     * The SplitMix64 generator, which gives well mixed 64 bit numbers from a counter
+     */
+    private static long nextRandom(final long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,17 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.board.SearchBoard;
+
+/**
+ * The board evaluator interface
+ * Scores a board in centipawns from the point of view of the side to move
+ * so a negamax search can negate the score of the opponent
+ */
+public interface BoardEvaluator {
+
+    /**
+     * @param board The search board, it must be left unchanged
+     * @return A positive score if the side to move stands better, negative otherwise
+     */
+    int evaluate(SearchBoard board);
+}
@@ -0,0 +1,29 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * Evaluates the board by the piece values only, counted from the piece bit boards
+ * The kings are left out since both players always have one
+ */
+public class MaterialEvaluator implements BoardEvaluator {
+
+    private static final PieceType[] MATERIAL_TYPES = {PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP,
+            PieceType.ROOK, PieceType.QUEEN};
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        Alliance sideToMove = board.getSideToMove();
+        return material(board, sideToMove) - material(board, sideToMove.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+    }
+
+    private static int material(SearchBoard board, Alliance alliance) {
+        int material = 0;
+        for (PieceType pieceType : MATERIAL_TYPES) {
+            material += Long.bitCount(board.getPieceBoard(alliance, pieceType)) * pieceType.getPieceValue();
+        }
+        return material;
+    }
+}
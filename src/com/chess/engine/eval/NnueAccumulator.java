@@ -0,0 +1,85 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The accumulator holds the hidden layer of the network once from the white and once from the black point of view
+ * The search board adds and removes the input of every piece it puts and takes off,
+ * so a move changes two or three inputs instead of all of them
+ * The integer sums are exact, unmaking a move removes what making it added and restores the layer,
+ * only refresh sums up all pieces
+ * The black point of view sees the board mirrored with the colours swapped, so one set of weights serves both
+ */
+public class NnueAccumulator {
+
+    private static final int NUM_PIECE_INDEXES = 12;
+
+    private final NnueNetwork network;
+    private final short[] white;
+    private final short[] black;
+
+    public NnueAccumulator(NnueNetwork network) {
+        this.network = network;
+        this.white = new short[network.getHiddenSize()];
+        this.black = new short[network.getHiddenSize()];
+    }
+
+    public NnueNetwork getNetwork() {
+        return this.network;
+    }
+
+    /**
+     * Recalculates both hidden layers from the pieces of the board
+     * @param board The search board
+     */
+    public void refresh(final SearchBoard board) {
+        this.network.initialize(this.white);
+        this.network.initialize(this.black);
+        for (Alliance alliance : Alliance.values()) {
+            for (PieceType pieceType : PieceType.values()) {
+                for (long pieces = board.getPieceBoard(alliance, pieceType); pieces != 0L; pieces &= pieces - 1) {
+                    addPiece(BitBoard.index(alliance, pieceType), BitBoard.firstCoordinate(pieces));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param pieceIndex The piece index, see BitBoard.index
+     * @param coordinate The tile the piece is put on
+     */
+    public void addPiece(final int pieceIndex, final int coordinate) {
+        this.network.addInput(this.white, whiteInput(pieceIndex, coordinate));
+        this.network.addInput(this.black, blackInput(pieceIndex, coordinate));
+    }
+
+    /**
+     * @param pieceIndex The piece index, see BitBoard.index
+     * @param coordinate The tile the piece is taken off
+     */
+    public void removePiece(final int pieceIndex, final int coordinate) {
+        this.network.removeInput(this.white, whiteInput(pieceIndex, coordinate));
+        this.network.removeInput(this.black, blackInput(pieceIndex, coordinate));
+    }
+
+    /**
+     * @param sideToMove The side to move
+     * @return The network score in centipawns for the side to move
+     */
+    public int evaluate(final Alliance sideToMove) {
+        return sideToMove.isWhite() ? this.network.evaluate(this.white, this.black) :
+                this.network.evaluate(this.black, this.white);
+    }
+
+    private static int whiteInput(final int pieceIndex, final int coordinate) {
+        return pieceIndex * BoardUtils.NUM_TILES + coordinate;
+    }
+
+    private static int blackInput(final int pieceIndex, final int coordinate) {
+        return ((pieceIndex + NUM_PIECE_INDEXES / 2) % NUM_PIECE_INDEXES) * BoardUtils.NUM_TILES + (coordinate ^ 56);
+    }
+}
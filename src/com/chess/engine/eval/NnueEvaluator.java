@@ -0,0 +1,33 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.board.SearchBoard;
+
+/**
+ * Evaluates the board with an efficiently updatable neural network, an alternative to StandardBoardEvaluator
+ * The first evaluation of a search board attaches an accumulator to it, from then on the board keeps the
+ * accumulator up to date as moves are made and unmade, so an evaluation only runs the output layer
+ * Each search thread has its own search board and accumulator, the network itself is shared
+ *
+ * @see NnueNetwork
+ */
+public class NnueEvaluator implements BoardEvaluator {
+
+    private final NnueNetwork network;
+
+    /**
+     * @param network The network, e.g. loaded with NnueNetwork.load
+     */
+    public NnueEvaluator(NnueNetwork network) {
+        this.network = network;
+    }
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        NnueAccumulator accumulator = board.getAccumulator();
+        if (accumulator == null || accumulator.getNetwork() != this.network) {
+            accumulator = new NnueAccumulator(this.network);
+            board.setAccumulator(accumulator);
+        }
+        return accumulator.evaluate(board.getSideToMove());
+    }
+}
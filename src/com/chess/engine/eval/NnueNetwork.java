@@ -0,0 +1,165 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.board.BoardUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The efficiently updatable neural network
+ * 768 inputs, one per piece index (see BitBoard.index) and tile, feed a hidden layer of int16 neurons
+ * which is kept once from the white and once from the black point of view, see NnueAccumulator
+ * The output neuron reads the clipped hidden layer of the side to move followed by the one of the opponent
+ * The weights are quantized: the hidden layer by HIDDEN_SCALE and the output layer by OUTPUT_SCALE
+ * The network is read only after loading, so one network is shared by all search threads
+ *
+ * The file holds little endian values:
+ * int32 the hidden layer size
+ * int16 the input weights, hidden size weights per input
+ * int16 the hidden biases
+ * int16 the output weights, twice the hidden size
+ * int32 the output bias
+ *
+ * @see <a href="https://www.chessprogramming.org/NNUE">NNUE</a>
+ */
+public class NnueNetwork {
+
+    public static final int INPUTS = 2 * 6 * BoardUtils.NUM_TILES;
+    public static final int HIDDEN_SCALE = 255;
+    public static final int OUTPUT_SCALE = 64;
+    public static final int EVALUATION_SCALE = 400;
+
+    private static final int MAX_HIDDEN_SIZE = 4096;
+
+    private final int hiddenSize;
+    private final short[] inputWeights;
+    private final short[] hiddenBiases;
+    private final short[] outputWeights;
+    private final int outputBias;
+
+    /**
+     * @param hiddenSize The number of hidden neurons
+     * @param inputWeights The input weights, hiddenSize weights per input
+     * @param hiddenBiases The hidden biases
+     * @param outputWeights The output weights, the side to move half first
+     * @param outputBias The output bias
+     */
+    public NnueNetwork(int hiddenSize, short[] inputWeights, short[] hiddenBiases, short[] outputWeights,
+                       int outputBias) {
+        if (inputWeights.length != INPUTS * hiddenSize || hiddenBiases.length != hiddenSize ||
+                outputWeights.length != 2 * hiddenSize) {
+            throw new IllegalArgumentException("The weights do not match the hidden size " + hiddenSize);
+        }
+        this.hiddenSize = hiddenSize;
+        this.inputWeights = inputWeights;
+        this.hiddenBiases = hiddenBiases;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+    }
+
+    /**
+     * @param path The network file
+     * @return The network
+     * @throws IOException If the file can not be read or is not a network file
+     */
+    public static NnueNetwork load(final Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return load(inputStream);
+        }
+    }
+
+    public static NnueNetwork load(final InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        int hiddenSize = Integer.reverseBytes(input.readInt());
+        if (hiddenSize <= 0 || hiddenSize > MAX_HIDDEN_SIZE) {
+            throw new IOException("Bad hidden layer size " + hiddenSize);
+        }
+        short[] inputWeights = readShorts(input, INPUTS * hiddenSize);
+        short[] hiddenBiases = readShorts(input, hiddenSize);
+        short[] outputWeights = readShorts(input, 2 * hiddenSize);
+        int outputBias = Integer.reverseBytes(input.readInt());
+        return new NnueNetwork(hiddenSize, inputWeights, hiddenBiases, outputWeights, outputBias);
+    }
+
+    public void save(final OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(Integer.reverseBytes(this.hiddenSize));
+        writeShorts(output, this.inputWeights);
+        writeShorts(output, this.hiddenBiases);
+        writeShorts(output, this.outputWeights);
+        output.writeInt(Integer.reverseBytes(this.outputBias));
+        output.flush();
+    }
+
+    public int getHiddenSize() {
+        return this.hiddenSize;
+    }
+
+    /**
+     * @param hidden The hidden layer, set to the biases
+     */
+    void initialize(final short[] hidden) {
+        System.arraycopy(this.hiddenBiases, 0, hidden, 0, this.hiddenSize);
+    }
+
+    /**
+     * The loops run over plain arrays without branches so the JIT compiler vectorizes them
+     * @param hidden The hidden layer
+     * @param input The input index
+     */
+    void addInput(final short[] hidden, final int input) {
+        int offset = input * this.hiddenSize;
+        for (int i = 0; i < this.hiddenSize; i++) {
+            hidden[i] += this.inputWeights[offset + i];
+        }
+    }
+
+    void removeInput(final short[] hidden, final int input) {
+        int offset = input * this.hiddenSize;
+        for (int i = 0; i < this.hiddenSize; i++) {
+            hidden[i] -= this.inputWeights[offset + i];
+        }
+    }
+
+    /**
+     * @param us The hidden layer from the point of view of the side to move
+     * @param them The hidden layer from the point of view of the opponent
+     * The sum is a long, 2 * MAX_HIDDEN_SIZE terms of up to HIDDEN_SCALE * Short.MAX_VALUE overflow an int
+     * @return The score in centipawns for the side to move
+     */
+    int evaluate(final short[] us, final short[] them) {
+        long sum = 0L;
+        for (int i = 0; i < this.hiddenSize; i++) {
+            sum += clippedRelu(us[i]) * this.outputWeights[i];
+        }
+        for (int i = 0; i < this.hiddenSize; i++) {
+            sum += clippedRelu(them[i]) * this.outputWeights[this.hiddenSize + i];
+        }
+        return (int) ((sum + this.outputBias) * EVALUATION_SCALE / (HIDDEN_SCALE * OUTPUT_SCALE));
+    }
+
+    private static int clippedRelu(final int value) {
+        return Math.min(Math.max(value, 0), HIDDEN_SCALE);
+    }
+
+    private static short[] readShorts(final DataInputStream input, final int length) throws IOException {
+        short[] values = new short[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = Short.reverseBytes(input.readShort());
+        }
+        return values;
+    }
+
+    private static void writeShorts(final DataOutputStream output, final short[] values) throws IOException {
+        for (short value : values) {
+            output.writeShort(Short.reverseBytes(value));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.board.SearchBoard;
+
+import java.util.Arrays;
+
+/**
+ * The pawn hash table caches the pawn structure score by the pawn key of the board
+ * Sibling boards of a search mostly share their pawns, so most evaluations find their pawn score here
+ * Each entry is one long: the high 32 bits of the pawn key and the packed score, the low bits of the key
+ * pick the entry, so a probe reads a single word and a new structure simply overwrites the old one
+ * A table belongs to one evaluator, the counters are not synchronized
+ *
+ * @see <a href="https://www.chessprogramming.org/Pawn_Hash_Table">Pawn hash table</a>
+ */
+public class PawnHashTable {
+
+    public static final int DEFAULT_MEGABYTES = 1;
+
+    private static final int BYTES_PER_ENTRY = 8;
+    private static final long KEY_MASK = 0xFFFFFFFF00000000L;
+
+    private final long[] entries;
+    private final int indexMask;
+
+    private long probes;
+    private long hits;
+
+    public PawnHashTable() {
+        this(DEFAULT_MEGABYTES);
+    }
+
+    /**
+     * @param sizeMegabytes The table size, rounded down to a power of two number of entries
+     */
+    public PawnHashTable(int sizeMegabytes) {
+        long requestedEntries = Math.max(1L, (long) sizeMegabytes * 1024L * 1024L / BYTES_PER_ENTRY);
+        int size = (int) Math.min(Long.highestOneBit(requestedEntries), 1L << 30);
+        this.entries = new long[size];
+        this.indexMask = size - 1;
+    }
+
+    /**
+     * @param pawnKey The pawn key of the board, see SearchBoard.getPawnKey
+     * @param board The board, evaluated on a miss
+     * @return The packed pawn structure score of white minus black
+     */
+    public int probe(final long pawnKey, final SearchBoard board) {
+        this.probes++;
+        int index = (int) pawnKey & this.indexMask;
+        long entry = this.entries[index];
+        if ((entry & KEY_MASK) == (pawnKey & KEY_MASK)) {
+            this.hits++;
+            return (int) entry;
+        }
+        int score = StandardBoardEvaluator.evaluatePawnStructure(board);
+        this.entries[index] = (pawnKey & KEY_MASK) | (score & 0xFFFFFFFFL);
+        return score;
+    }
+
+    public int getCapacity() {
+        return this.entries.length;
+    }
+
+    public long getProbes() {
+        return this.probes;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return The percentage of probes which found the pawn structure
+     */
+    public int getHitRate() {
+        return this.probes == 0L ? 0 : (int) (this.hits * 100L / this.probes);
+    }
+
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+        this.probes = 0L;
+        this.hits = 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "pawn probes " + this.probes + " hits " + this.hits + " (" + getHitRate() + "%)";
+    }
+}
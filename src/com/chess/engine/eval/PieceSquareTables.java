@@ -0,0 +1,168 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The piece square tables
+ * Every piece scores its material value plus a bonus for its tile, once for the middle game and once for the end game
+ * The tables are written from the white point of view with tile 0 (a8) first,
+ * black pieces read the tile mirrored to the other side of the board and score negative
+ * so the sum over all pieces is the white score, which SearchBoard keeps up to date as pieces move
+ *
+ * @see <a href="https://www.chessprogramming.org/Simplified_Evaluation_Function">Simplified evaluation function</a>
+ */
+public class PieceSquareTables {
+
+    /**
+     * The PieceType values, with 0 for the king
+     */
+    private static final int[] MIDDLE_GAME_VALUES = createMiddleGameValues();
+    private static final int[] END_GAME_VALUES = {120, 300, 330, 520, 920, 0};
+    private static final int[] PHASES = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] PAWN_MIDDLE_GAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             10,  10,  20,  30,  30,  20,  10,  10,
+              5,   5,  10,  25,  25,  10,   5,   5,
+              0,   0,   0,  20,  20,   0,   0,   0,
+              5,  -5, -10,   0,   0, -10,  -5,   5,
+              5,  10,  10, -20, -20,  10,  10,   5,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] PAWN_END_GAME = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+             80,  80,  80,  80,  80,  80,  80,  80,
+             50,  50,  50,  50,  50,  50,  50,  50,
+             30,  30,  30,  30,  30,  30,  30,  30,
+             15,  15,  15,  15,  15,  15,  15,  15,
+              5,   5,   5,   5,   5,   5,   5,   5,
+              0,   0,   0,   0,   0,   0,   0,   0,
+              0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK_TABLE = {
+              0,   0,   0,   0,   0,   0,   0,   0,
+              5,  10,  10,  10,  10,  10,  10,   5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+             -5,   0,   0,   0,   0,   0,   0,  -5,
+              0,   0,   0,   5,   5,   0,   0,   0
+    };
+
+    private static final int[] QUEEN_TABLE = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MIDDLE_GAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    private static final int[] KING_END_GAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MIDDLE_GAME_TABLES = {PAWN_MIDDLE_GAME, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE,
+            QUEEN_TABLE, KING_MIDDLE_GAME};
+    private static final int[][] END_GAME_TABLES = {PAWN_END_GAME, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE,
+            QUEEN_TABLE, KING_END_GAME};
+
+    /**
+     * The packed score of every piece index (see BitBoard.index) on every tile
+     */
+    private static final int[][] SCORES = createScores();
+
+    private PieceSquareTables() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param pieceIndex The piece index, see BitBoard.index
+     * @param coordinate The tile of the piece
+     * @return The packed material and tile score, negative for black pieces
+     */
+    public static int score(final int pieceIndex, final int coordinate) {
+        return SCORES[pieceIndex][coordinate];
+    }
+
+    /**
+     * @param pieceIndex The piece index, see BitBoard.index
+     * @return The share of the piece in the game phase
+     */
+    public static int phase(final int pieceIndex) {
+        return PHASES[pieceIndex % PHASES.length];
+    }
+
+    private static int[] createMiddleGameValues() {
+        final int[] values = new int[PieceType.values().length];
+        for (PieceType pieceType : PieceType.values()) {
+            values[pieceType.ordinal()] = pieceType.isKing() ? 0 : pieceType.getPieceValue();
+        }
+        return values;
+    }
+
+    private static int[][] createScores() {
+        final int[][] scores = new int[2 * PHASES.length][BoardUtils.NUM_TILES];
+        for (Alliance alliance : Alliance.values()) {
+            for (PieceType pieceType : PieceType.values()) {
+                int type = pieceType.ordinal();
+                for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+                    int tile = alliance.isWhite() ? coordinate : coordinate ^ 56;
+                    int score = TaperedScore.create(MIDDLE_GAME_VALUES[type] + MIDDLE_GAME_TABLES[type][tile],
+                            END_GAME_VALUES[type] + END_GAME_TABLES[type][tile]);
+                    scores[BitBoard.index(alliance, pieceType)][coordinate] = alliance.isWhite() ? score : -score;
+                }
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,202 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The default evaluator, the sum of these tapered terms
+ * material and piece square tables, kept up to date by the search board as pieces move
+ * mobility, the tiles each knight, bishop, rook and queen attacks which are not taken by own pieces
+ * king safety, the pawn shield in front of the king and the attacks on the tiles around it
+ * pawn structure, doubled, isolated and passed pawns, cached in a pawn hash table by the pawn key
+ * All terms are read from bit boards and packed into one int, see TaperedScore, nothing is allocated
+ *
+ * @see <a href="https://www.chessprogramming.org/Evaluation">Evaluation</a>
+ */
+public class StandardBoardEvaluator implements BoardEvaluator {
+
+    private static final int TEMPO = 10;
+
+    private static final int KNIGHT_MOBILITY = TaperedScore.create(4, 4);
+    private static final int BISHOP_MOBILITY = TaperedScore.create(5, 5);
+    private static final int ROOK_MOBILITY = TaperedScore.create(2, 4);
+    private static final int QUEEN_MOBILITY = TaperedScore.create(1, 2);
+
+    private static final int DOUBLED_PAWN = TaperedScore.create(-10, -20);
+    private static final int ISOLATED_PAWN = TaperedScore.create(-10, -15);
+    /**
+     * Indexed by the rank of the pawn counted from its own side, 0 is the first rank
+     */
+    private static final int[] PASSED_PAWN = {0, TaperedScore.create(5, 10), TaperedScore.create(5, 15),
+            TaperedScore.create(10, 25), TaperedScore.create(20, 45), TaperedScore.create(35, 80),
+            TaperedScore.create(60, 130), 0};
+
+    private static final int PAWN_SHIELD = TaperedScore.create(10, 0);
+    private static final int[] KING_ATTACK_WEIGHTS = {0, 2, 2, 3, 5, 0};
+    private static final int MAX_KING_ATTACK_PENALTY = 500;
+
+    private static final long[] FILE_MASKS = new long[8];
+    private static final long[] ADJACENT_FILE_MASKS = new long[8];
+    /**
+     * The tiles in front of a pawn on its own and the adjacent files, a pawn is passed when no opponent pawn stands there
+     */
+    private static final long[][] PASSED_PAWN_MASKS = new long[2][BoardUtils.NUM_TILES];
+    /**
+     * The two rows of tiles in front of a king on its own and the adjacent files
+     */
+    private static final long[][] PAWN_SHIELD_MASKS = new long[2][BoardUtils.NUM_TILES];
+
+    static {
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            FILE_MASKS[coordinate % 8] |= BitBoard.bit(coordinate);
+        }
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILE_MASKS[file] = (file > 0 ? FILE_MASKS[file - 1] : 0L) | (file < 7 ? FILE_MASKS[file + 1] : 0L);
+        }
+        for (int coordinate = 0; coordinate < BoardUtils.NUM_TILES; coordinate++) {
+            int file = coordinate % 8;
+            int row = coordinate / 8;
+            long files = FILE_MASKS[file] | ADJACENT_FILE_MASKS[file];
+            for (int other = 0; other < BoardUtils.NUM_TILES; other++) {
+                int otherRow = other / 8;
+                if ((files & BitBoard.bit(other)) == 0L) {
+                    continue;
+                }
+                if (otherRow < row) {
+                    PASSED_PAWN_MASKS[Alliance.WHITE.ordinal()][coordinate] |= BitBoard.bit(other);
+                }
+                if (otherRow > row) {
+                    PASSED_PAWN_MASKS[Alliance.BLACK.ordinal()][coordinate] |= BitBoard.bit(other);
+                }
+                if (otherRow == row - 1 || otherRow == row - 2) {
+                    PAWN_SHIELD_MASKS[Alliance.WHITE.ordinal()][coordinate] |= BitBoard.bit(other);
+                }
+                if (otherRow == row + 1 || otherRow == row + 2) {
+                    PAWN_SHIELD_MASKS[Alliance.BLACK.ordinal()][coordinate] |= BitBoard.bit(other);
+                }
+            }
+        }
+    }
+
+    private final PawnHashTable pawnHashTable;
+
+    public StandardBoardEvaluator() {
+        this(new PawnHashTable());
+    }
+
+    /**
+     * @param pawnHashTable The pawn hash table, used by this evaluator only
+     */
+    public StandardBoardEvaluator(PawnHashTable pawnHashTable) {
+        this.pawnHashTable = pawnHashTable;
+    }
+
+    public PawnHashTable getPawnHashTable() {
+        return this.pawnHashTable;
+    }
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        int score = board.getTaperedScore() +
+                evaluatePieces(board, Alliance.WHITE) - evaluatePieces(board, Alliance.BLACK) +
+                this.pawnHashTable.probe(board.getPawnKey(), board);
+        int whiteScore = TaperedScore.taper(score, board.getPhase());
+        return (board.getSideToMove().isWhite() ? whiteScore : -whiteScore) + TEMPO;
+    }
+
+    /**
+     * The pawn structure only depends on the pawns, so a pawn hash table may keep it
+     * @param board The search board
+     * @return The packed pawn structure score of white minus black
+     */
+    public static int evaluatePawnStructure(SearchBoard board) {
+        long whitePawns = board.getPieceBoard(Alliance.WHITE, PieceType.PAWN);
+        long blackPawns = board.getPieceBoard(Alliance.BLACK, PieceType.PAWN);
+        return evaluatePawns(Alliance.WHITE, whitePawns, blackPawns) -
+                evaluatePawns(Alliance.BLACK, blackPawns, whitePawns);
+    }
+
+    private static int evaluatePawns(Alliance alliance, long pawns, long opponentPawns) {
+        int score = 0;
+        for (int file = 0; file < 8; file++) {
+            int filePawns = Long.bitCount(pawns & FILE_MASKS[file]);
+            if (filePawns > 1) {
+                score += DOUBLED_PAWN * (filePawns - 1);
+            }
+        }
+        int side = alliance.ordinal();
+        for (long remaining = pawns; remaining != 0L; remaining &= remaining - 1) {
+            int coordinate = BitBoard.firstCoordinate(remaining);
+            if ((pawns & ADJACENT_FILE_MASKS[coordinate % 8]) == 0L) {
+                score += ISOLATED_PAWN;
+            }
+            if ((opponentPawns & PASSED_PAWN_MASKS[side][coordinate]) == 0L) {
+                score += PASSED_PAWN[alliance.isWhite() ? 7 - coordinate / 8 : coordinate / 8];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return The packed mobility and king safety score of the alliance
+     */
+    private static int evaluatePieces(SearchBoard board, Alliance alliance) {
+        Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        long occupancy = board.getOccupancy();
+        long targets = ~board.getAllianceOccupancy(alliance);
+        long opponentKing = board.getPieceBoard(opponent, PieceType.KING);
+        long kingZone = opponentKing == 0L ? 0L :
+                AttackTables.kingAttacks(BitBoard.firstCoordinate(opponentKing)) | opponentKing;
+
+        int score = 0;
+        int attackWeight = 0;
+        int attackers = 0;
+        for (long pieces = board.getPieceBoard(alliance, PieceType.KNIGHT); pieces != 0L; pieces &= pieces - 1) {
+            long attacks = AttackTables.knightAttacks(BitBoard.firstCoordinate(pieces));
+            score += KNIGHT_MOBILITY * (Long.bitCount(attacks & targets) - 4);
+            if ((attacks & kingZone) != 0L) {
+                attackers++;
+                attackWeight += KING_ATTACK_WEIGHTS[PieceType.KNIGHT.ordinal()] * Long.bitCount(attacks & kingZone);
+            }
+        }
+        for (long pieces = board.getPieceBoard(alliance, PieceType.BISHOP); pieces != 0L; pieces &= pieces - 1) {
+            long attacks = AttackTables.bishopAttacks(BitBoard.firstCoordinate(pieces), occupancy);
+            score += BISHOP_MOBILITY * (Long.bitCount(attacks & targets) - 6);
+            if ((attacks & kingZone) != 0L) {
+                attackers++;
+                attackWeight += KING_ATTACK_WEIGHTS[PieceType.BISHOP.ordinal()] * Long.bitCount(attacks & kingZone);
+            }
+        }
+        for (long pieces = board.getPieceBoard(alliance, PieceType.ROOK); pieces != 0L; pieces &= pieces - 1) {
+            long attacks = AttackTables.rookAttacks(BitBoard.firstCoordinate(pieces), occupancy);
+            score += ROOK_MOBILITY * (Long.bitCount(attacks & targets) - 6);
+            if ((attacks & kingZone) != 0L) {
+                attackers++;
+                attackWeight += KING_ATTACK_WEIGHTS[PieceType.ROOK.ordinal()] * Long.bitCount(attacks & kingZone);
+            }
+        }
+        for (long pieces = board.getPieceBoard(alliance, PieceType.QUEEN); pieces != 0L; pieces &= pieces - 1) {
+            long attacks = AttackTables.queenAttacks(BitBoard.firstCoordinate(pieces), occupancy);
+            score += QUEEN_MOBILITY * (Long.bitCount(attacks & targets) - 13);
+            if ((attacks & kingZone) != 0L) {
+                attackers++;
+                attackWeight += KING_ATTACK_WEIGHTS[PieceType.QUEEN.ordinal()] * Long.bitCount(attacks & kingZone);
+            }
+        }
+        // a single attacker is rarely dangerous, the penalty grows with the square of the attack weight
+        if (attackers >= 2) {
+            score += TaperedScore.create(Math.min(attackWeight * attackWeight, MAX_KING_ATTACK_PENALTY), 0);
+        }
+
+        long king = board.getPieceBoard(alliance, PieceType.KING);
+        if (king != 0L) {
+            long shield = PAWN_SHIELD_MASKS[alliance.ordinal()][BitBoard.firstCoordinate(king)];
+            score += PAWN_SHIELD * Long.bitCount(shield & board.getPieceBoard(alliance, PieceType.PAWN));
+        }
+        return score;
+    }
+}
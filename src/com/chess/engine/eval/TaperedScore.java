@@ -0,0 +1,49 @@
+package com.chess.engine.eval;
+
+/**
+ * The tapered score class
+ * A middle game and an end game score are packed into one int, the end game score in the high half,
+ * so both are added and subtracted with one int operation
+ * The final score is blended from the two by the game phase, which falls from MAX_PHASE to 0
+ * as the pieces are traded
+ *
+ * @see <a href="https://www.chessprogramming.org/Tapered_Eval">Tapered eval</a>
+ */
+public class TaperedScore {
+
+    public static final int MAX_PHASE = 24;
+
+    private TaperedScore() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param middleGame The middle game score, between -32768 and 32767
+     * @param endGame The end game score, between -32768 and 32767
+     * @return The packed score
+     */
+    public static int create(final int middleGame, final int endGame) {
+        return (endGame << 16) + middleGame;
+    }
+
+    public static int middleGame(final int score) {
+        return (short) score;
+    }
+
+    /**
+     * Rounds the high half up when the low half is negative, since the addition borrowed from it
+     */
+    public static int endGame(final int score) {
+        return (short) ((score + 0x8000) >> 16);
+    }
+
+    /**
+     * @param score The packed score
+     * @param phase The game phase, MAX_PHASE with all pieces on the board
+     * @return The score blended from the middle game and the end game score
+     */
+    public static int taper(final int score, final int phase) {
+        int middleGamePhase = Math.min(phase, MAX_PHASE);
+        return (middleGame(score) * middleGamePhase + endGame(score) * (MAX_PHASE - middleGamePhase)) / MAX_PHASE;
+    }
+}
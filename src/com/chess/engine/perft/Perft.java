@@ -0,0 +1,61 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveTransition;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The perft class counts the leaf nodes of the legal move tree
+ * Every move of the current player is made with Player.makeMove and only the DONE transitions are followed
+ * The legal moves never leave the king in check, so one ply above the leaves they are counted without being made
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft">Perft</a>
+ */
+public class Perft {
+
+    private Perft() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    /**
+     * @param board The start board
+     * @param depth The number of plies to walk
+     * @return The number of leaf nodes
+     */
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        if (depth == 1) {
+            return board.currentPlayer().getLegalMoves().size();
+        }
+        long nodes = 0L;
+        for (Move move : board.currentPlayer().getLegalMoves()) {
+            MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getToBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Splits the perft count by the root moves, used to find which move a generator bug is under
+     * @param board The start board
+     * @param depth The number of plies to walk, at least 1
+     * @return The leaf nodes under each legal root move in generation order
+     */
+    public static Map<Move, Long> divide(final Board board, final int depth) {
+        final Map<Move, Long> divide = new LinkedHashMap<Move, Long>();
+        for (Move move : board.currentPlayer().getLegalMoves()) {
+            MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                divide.put(move, perft(transition.getToBoard(), depth - 1));
+            }
+        }
+        return divide;
+    }
+}
@@ -0,0 +1,64 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+
+/**
+ * The perft reference positions with their published leaf node counts
+ * The expected counts are indexed by depth - 1
+ * The boards are read from their FEN
+ * Only depths without under promotions are listed since pawns always promote to a queen
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft_Results">Perft results</a>
+ */
+public enum PerftPosition {
+
+    /**
+     * The standard start position
+     */
+    INITIAL(FenUtilities.STANDARD_FEN, new long[]{20, 400, 8902, 197281, 4865609}),
+    /**
+     * Position 2 "Kiwipete" - castling, en passant and pins
+     */
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", new long[]{48, 2039, 97862}),
+    /**
+     * Position 3 - en passant discovered checks in a rook and pawn ending
+     */
+    ROOK_ENDING("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", new long[]{14, 191, 2812, 43238, 674624}),
+    /**
+     * Position 6 - a quiet middle game with both kings castled
+     */
+    MIDDLE_GAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            new long[]{46, 2079, 89890, 3894594});
+
+    private final String fen;
+    private final long[] expectedNodes;
+
+    PerftPosition(String fen, long[] expectedNodes) {
+        this.fen = fen;
+        this.expectedNodes = expectedNodes;
+    }
+
+    public String getFen() {
+        return this.fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createBoardFromFen(this.fen);
+    }
+
+    /**
+     * @return The deepest depth with a published count
+     */
+    public int getMaxDepth() {
+        return this.expectedNodes.length;
+    }
+
+    /**
+     * @param depth The depth between 1 and getMaxDepth
+     * @return The published leaf node count
+     */
+    public long getExpectedNodes(final int depth) {
+        return this.expectedNodes[depth - 1];
+    }
+}
@@ -1,6 +1,8 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
@@ -16,13 +18,12 @@ import java.util.List;
  * 16 pawn jump
  * 7 left attack move
  * 9 right attack move
+ * The attack moves come from the precomputed pawn attack table
  * Checks for enpassant moves
  * @See <a href="https://en.wikipedia.org/wiki/Pawn_(chess)">Pawn piece</a>
  */
 public class Pawn extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {8, 16, 7, 9};
-
     public Pawn(Alliance alliance, int piecePosition) {
         super(PieceType.PAWN, alliance, piecePosition, true);
     }
@@ -34,93 +35,52 @@ public class Pawn extends Piece {
     @Override
     public Collection<Move> calculateLegalMoves(Board board) {
         List<Move> legalMoves = new ArrayList<Move>();
-        for (int candidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int destinationCoordinate =
-                    this.piecePosition + (this.pieceAlliance.getDirection() * candidateOffset);
-            if (!BoardUtils.isValidTileCoordinate(destinationCoordinate)) {
-                continue;
+        BitBoard bitBoard = board.getBitBoard();
+        // One up pawn move or pawn jump move
+        int destinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
+        if (BoardUtils.isValidTileCoordinate(destinationCoordinate) && !bitBoard.isOccupied(destinationCoordinate)) {
+            if (!this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
+                legalMoves.add(new PawnMove(board, this, destinationCoordinate));
+            } else {
+                legalMoves.add(new PawnPromotion(new PawnMove(board, this, destinationCoordinate)));
             }
-            // One up pawn move or pawn jump move or up left attack move or up right attack move and EnPassant
-            if (candidateOffset == 8 && !board.getTile(destinationCoordinate).isTileOccupied()) {
-                if (!this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                    Move move = new PawnMove(board, this, destinationCoordinate);
-                    legalMoves.add(move);
-                } else if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                    Move pawnPromotionMove = new PawnPromotion(new PawnMove(board, this, destinationCoordinate));
-                    legalMoves.add(pawnPromotionMove);
-                }
-            } else if (candidateOffset == 16 && this.isFirstMove() &&
+            int jumpCoordinate = destinationCoordinate + (this.pieceAlliance.getDirection() * 8);
+            if (this.isFirstMove() &&
                     ((BoardUtils.SECOND_ROW[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-                            (BoardUtils.SEVENTH_ROW[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-                int behindCandidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                if (!board.getTile(destinationCoordinate).isTileOccupied() &&
-                        !board.getTile(behindCandidateDestinationCoordinate).isTileOccupied()) {
-                    Move move = new PawnJump(board, this, destinationCoordinate);
-                    legalMoves.add(move);
-                }
-            } else if (candidateOffset == 7 &&
-                    !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-                            (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(destinationCoordinate).isTileOccupied()) {
-                    Piece pieceOnCandidate = board.getTile(destinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (!this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnAttackMove(board, this, destinationCoordinate, pieceOnCandidate);
-                            legalMoves.add(move);
-                        } else if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnPromotion(new PawnAttackMove(board, this, destinationCoordinate,
-                                    pieceOnCandidate));
-                            legalMoves.add(move);
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                        (this.piecePosition + (this.pieceAlliance.getOppositeDirection()))) {
-                    Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (!this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnEnPassantAttack(board, this, destinationCoordinate, pieceOnCandidate);
-                            legalMoves.add(move);
-                        } else if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnPromotion(new PawnEnPassantAttack(board, this, destinationCoordinate,
-                                    pieceOnCandidate));
-                            legalMoves.add(move);
-                        }
-                    }
-                }
-            } else if (candidateOffset == 9 &&
-                    !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-                            (BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(destinationCoordinate).isTileOccupied()) {
-                    if (this.pieceAlliance != board.getTile(destinationCoordinate).getPiece().getPieceAlliance()) {
-                        if (!this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnAttackMove(board, this, destinationCoordinate, board.getTile
-                                    (destinationCoordinate).getPiece());
-                            legalMoves.add(move);
-                        } else if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnAttackMove(board, this, destinationCoordinate, board.getTile
-                                    (destinationCoordinate).getPiece());
-                            legalMoves.add(new PawnPromotion(move));
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() ==
-                        (this.piecePosition - (this.pieceAlliance.getOppositeDirection()))) {
-                    Piece pieceOnCandidate = board.getEnPassantPawn();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (!this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnEnPassantAttack(board, this, destinationCoordinate, pieceOnCandidate);
-                            legalMoves.add(move);
-                        } else if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-                            Move move = new PawnPromotion(new PawnEnPassantAttack(board, this, destinationCoordinate, pieceOnCandidate));
-                            legalMoves.add(move);
-                        }
-                    }
-                }
+                            (BoardUtils.SEVENTH_ROW[this.piecePosition] && this.pieceAlliance.isWhite())) &&
+                    !bitBoard.isOccupied(jumpCoordinate)) {
+                legalMoves.add(new PawnJump(board, this, jumpCoordinate));
+            }
+        }
+        // Up left and up right attack moves from the pawn attack table
+        long attacks = calculateAttacks(bitBoard.getOccupancy());
+        long captures = attacks & bitBoard.getOccupancy() & ~bitBoard.getAllianceOccupancy(this.pieceAlliance);
+        while (captures != BitBoard.EMPTY) {
+            int attackCoordinate = BitBoard.firstCoordinate(captures);
+            captures &= captures - 1;
+            Move move = new PawnAttackMove(board, this, attackCoordinate, bitBoard.getPiece(attackCoordinate));
+            legalMoves.add(this.pieceAlliance.isPawnPromotionSquare(attackCoordinate) ? new PawnPromotion(move) : move);
+        }
+        // EnPassant, the attacked tile is the one the enemy pawn jumped over
+        Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            int enPassantCoordinate = enPassantPawn.getPiecePosition() + (this.pieceAlliance.getDirection() * 8);
+            if ((attacks & BitBoard.bit(enPassantCoordinate)) != BitBoard.EMPTY) {
+                legalMoves.add(new PawnEnPassantAttack(board, this, enPassantCoordinate, enPassantPawn));
             }
         }
-
         return legalMoves;
     }
 
+    /**
+     * @param occupancy Not used, pawns attack the two diagonal tiles in front of them on any board
+     * @return The tiles the pawn attacks
+     */
+    @Override
+    public long calculateAttacks(long occupancy) {
+        return AttackTables.pawnAttacks(this.pieceAlliance, this.piecePosition);
+    }
+
     @Override
     public Pawn movePiece(Move move) {
         return PieceUtils.getMovedPawn(move);
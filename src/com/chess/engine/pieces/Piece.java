@@ -1,10 +1,15 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MajorAttackMove;
+import com.chess.engine.board.Move.MajorMove;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /*
 Abstract class for all chess pieces
@@ -12,10 +17,10 @@ Overrides equals and hashCode method
  */
 public abstract class Piece {
 
-    protected PieceType pieceType;
-    protected Alliance pieceAlliance;
-    protected int piecePosition;
-    protected boolean isFirstMove;
+    protected final PieceType pieceType;
+    protected final Alliance pieceAlliance;
+    protected final int piecePosition;
+    protected final boolean isFirstMove;
 
     /**
      * @param type The piece type can be PAWN, KNIGHT, BISHOP, ROOK, QUEEN and KING
@@ -63,6 +68,35 @@ public abstract class Piece {
      */
     public abstract Collection<Move> calculateLegalMoves(Board board);
 
+    /**
+     * Each piece overrides the method and looks up its attacks in the precomputed attack tables
+     * @param occupancy The occupied tiles of the board, sliding pieces stop at the first occupied tile
+     * @return The tiles the piece attacks as a bit board
+     */
+    public abstract long calculateAttacks(long occupancy);
+
+    /**
+     * Creates a major move for every empty destination and a major attack move for every occupied one
+     * @param board The game board
+     * @param destinations The destination tiles, the tiles of own pieces already removed
+     * @return Collection of moves
+     */
+    protected Collection<Move> createMoves(Board board, long destinations) {
+        BitBoard bitBoard = board.getBitBoard();
+        List<Move> moves = new ArrayList<Move>(Long.bitCount(destinations));
+        while (destinations != BitBoard.EMPTY) {
+            int destinationCoordinate = BitBoard.firstCoordinate(destinations);
+            destinations &= destinations - 1;
+            Piece pieceAtDestination = bitBoard.getPiece(destinationCoordinate);
+            if (pieceAtDestination == null) {
+                moves.add(new MajorMove(board, this, destinationCoordinate));
+            } else {
+                moves.add(new MajorAttackMove(board, this, destinationCoordinate, pieceAtDestination));
+            }
+        }
+        return moves;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (this == other) {
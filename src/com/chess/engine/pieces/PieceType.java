@@ -81,8 +81,8 @@ public enum PieceType {
         }
     };
 
-    private int value;
-    private String pieceName;
+    private final int value;
+    private final String pieceName;
 
     public int getPieceValue() {
         return this.value;
@@ -18,12 +18,12 @@ import java.util.List;
  */
 public class BlackPlayer extends Player {
 
-    public BlackPlayer(Board board, Collection<Move> whiteStandardLegals, Collection<Move> blackStandardLegals) {
-        super(board, blackStandardLegals, whiteStandardLegals);
+    public BlackPlayer(Board board) {
+        super(board);
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals) {
         List<Move> kingCastles = new ArrayList<Move>();
 
         if(this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 4 && !isInCheck()) {
@@ -31,8 +31,8 @@ public class BlackPlayer extends Player {
             if(!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()) {
                 Tile rookTile = this.board.getTile(7);
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                        !this.board.isSquareAttacked(5, Alliance.WHITE) &&
+                        !this.board.isSquareAttacked(6, Alliance.WHITE) &&
                         rookTile.getPiece().getPieceType().isRook()) {
                     Move move =new KingSideCastleMove(this.board, this.playerKing, 6, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 5);
                     kingCastles.add(move);
@@ -43,8 +43,8 @@ public class BlackPlayer extends Player {
                     !this.board.getTile(3).isTileOccupied()) {
                 Tile rookTile = this.board.getTile(0);
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                        !this.board.isSquareAttacked(2, Alliance.WHITE) &&
+                        !this.board.isSquareAttacked(3, Alliance.WHITE) &&
                         rookTile.getPiece().getPieceType().isRook()) {
                     Move move = new QueenSideCastleMove(this.board, this.playerKing, 2, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 3);
                     kingCastles.add(move);
@@ -1,8 +1,12 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.PawnEnPassantAttack;
 import com.chess.engine.board.MoveStatus;
 import com.chess.engine.board.MoveTransition;
 import com.chess.engine.pieces.King;
@@ -16,21 +20,24 @@ import java.util.List;
 
 public abstract class Player {
 
-    protected Board board;
-    protected King playerKing;
-    protected Collection<Move> legalMoves;
-    protected boolean isInCheck;
+    protected final Board board;
+    protected final King playerKing;
+    private volatile Collection<Move> standardLegalMoves;
+    private volatile Collection<Move> legalMoves;
+    private volatile Boolean isInCheck;
+    private volatile Move[][] legalMoveIndex;
+    private volatile int legalMoveLookups;
 
     /**
+     * The legal moves and the check status are calculated on first demand and memoized
+     * so boards which are only checked for king safety stay cheap
+     * The memo fields are volatile so a board can be shared by search threads, two threads may
+     * calculate the same value but never see a partly built collection
      * @param board The game board
-     * @param playerLegals the current player legal moves
-     * @param opponentLegals the opponent player legal moves
      */
-    Player(Board board, Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    Player(Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(playerLegals, calculateKingCastles(playerLegals, opponentLegals)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
     }
 
     /**
@@ -41,19 +48,23 @@ public abstract class Player {
         if (move instanceof Move.NullMove) {
             return false;
         }
-        return !(move.isCastlingMove() && isInCheck()) && this.legalMoves.contains(move);
+        return getLegalMoves().contains(move);
     }
 
     public boolean isInCheck() {
+        if (this.isInCheck == null) {
+            this.isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(),
+                    getOpponent().getAlliance());
+        }
         return this.isInCheck;
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public King getPlayerKing() {
@@ -61,72 +72,174 @@ public abstract class Player {
     }
 
     /**
-     * Iterates over active pieces and searches for the king
+     * Reads the king from the alliance king bit board
      * @return King piece
      */
     private King establishKing() {
-        for(Piece piece : getActivePieces()) {
-            if(piece.getPieceType().isKing()) {
-                return (King) piece;
-            }
+        int kingCoordinate = this.board.getBitBoard().getKingCoordinate(getAlliance());
+        if (kingCoordinate != -1) {
+            return (King) this.board.getBitBoard().getPiece(kingCoordinate);
         }
         throw new RuntimeException("Should not reach here! " + this.getAlliance()+ " king could not be established!");
     }
 
     /**
-     * Iterates over the player legal moves and is checking if the move status is done
-     * If so this means that the player has escape move
+     * The legal moves never leave the king in check, so any legal move is an escape move
      * @return True if the player has escape moves false otherwise
      */
     private boolean hasEscapeMoves() {
-        for(Move move : getLegalMoves()) {
-            MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone()) {
-                return true;
-            }
-        }
-        return false;
+        return !getLegalMoves().isEmpty();
     }
 
+    /**
+     * @return The piece moves together with the castle moves which do not leave the king in check
+     */
     public Collection<Move> getLegalMoves() {
+        if (this.legalMoves == null) {
+            Collection<Move> playerLegals = getStandardLegalMoves();
+            this.legalMoves = ImmutableList.copyOf(calculateLegalMoves(Iterables.concat(playerLegals,
+                    calculateKingCastles(playerLegals))));
+        }
         return this.legalMoves;
     }
 
     /**
-     * Iterates over the moves and is looking for attacks on the given tile
-     * @param tile The tile
-     * @param moves the moves
-     * @return Collection of attacks on tile
+     * The first lookup scans the legal moves, most boards are asked once, e.g. when a game is read move by move
+     * The index is built from the legal moves on the second lookup, the moves are grouped by their current tile
+     * so a lookup only scans the moves of one piece
+     * @param currentCoordinate The tile of the moved piece
+     * @param destinationCoordinate The destination tile
+     * @return The legal move between the tiles or Move.NULL_MOVE
+     */
+    public Move getLegalMove(int currentCoordinate, int destinationCoordinate) {
+        Move[][] index = this.legalMoveIndex;
+        if (index == null) {
+            if (this.legalMoveLookups++ == 0) {
+                for (Move move : getLegalMoves()) {
+                    if (move.getCurrentCoordinate() == currentCoordinate &&
+                            move.getDestinationCoordinate() == destinationCoordinate) {
+                        return move;
+                    }
+                }
+                return Move.NULL_MOVE;
+            }
+            index = createLegalMoveIndex(getLegalMoves());
+            this.legalMoveIndex = index;
+        }
+        Move[] moves = index[currentCoordinate];
+        if (moves != null) {
+            for (Move move : moves) {
+                if (move.getDestinationCoordinate() == destinationCoordinate) {
+                    return move;
+                }
+            }
+        }
+        return Move.NULL_MOVE;
+    }
+
+    private static Move[][] createLegalMoveIndex(Collection<Move> moves) {
+        final int[] counts = new int[BoardUtils.NUM_TILES];
+        for (Move move : moves) {
+            counts[move.getCurrentCoordinate()]++;
+        }
+        final Move[][] index = new Move[BoardUtils.NUM_TILES][];
+        for (Move move : moves) {
+            int coordinate = move.getCurrentCoordinate();
+            if (index[coordinate] == null) {
+                index[coordinate] = new Move[counts[coordinate]];
+                counts[coordinate] = 0;
+            }
+            index[coordinate][counts[coordinate]++] = move;
+        }
+        return index;
+    }
+
+    /**
+     * Keeps the moves which do not leave the king in check without executing them
+     * The checkers and the pinned pieces are found once, then
+     * a king move is legal when its destination is not attacked with the king taken off the board,
+     * castling also needs the king out of check and the tile it passes not attacked,
+     * other moves must capture the only checker or block its line and pinned pieces must stay on the pin line,
+     * en passant removes two pawns from one row so it is checked on the occupancy after the capture
+     * @param moves The piece moves and the castle moves
+     * @return The legal moves
      */
-    static Collection<Move> calculateAttacksOnTile(int tile, Collection<Move> moves) {
-        List<Move> attackMoves = new ArrayList<Move>();
+    private List<Move> calculateLegalMoves(Iterable<Move> moves) {
+        BitBoard bitBoard = this.board.getBitBoard();
+        Alliance opponent = getOpponent().getAlliance();
+        int kingCoordinate = this.playerKing.getPiecePosition();
+        long occupancy = bitBoard.getOccupancy();
+        long checkers = bitBoard.calculateAttackers(kingCoordinate, opponent, occupancy);
+        long pinned = bitBoard.calculatePinnedPieces(kingCoordinate, getAlliance());
+        long kinglessOccupancy = occupancy & ~BitBoard.bit(kingCoordinate);
+        long checkBlocks;
+        if (checkers == BitBoard.EMPTY) {
+            checkBlocks = ~BitBoard.EMPTY;
+        } else if (Long.bitCount(checkers) == 1) {
+            checkBlocks = AttackTables.between(kingCoordinate, BitBoard.firstCoordinate(checkers)) | checkers;
+        } else {
+            checkBlocks = BitBoard.EMPTY;
+        }
+
+        final List<Move> legalMoves = new ArrayList<Move>(35);
         for (Move move : moves) {
-            if (tile == move.getDestinationCoordinate()) {
-                attackMoves.add(move);
+            int from = move.getCurrentCoordinate();
+            int to = move.getDestinationCoordinate();
+            boolean isLegal;
+            if (from == kingCoordinate) {
+                isLegal = bitBoard.calculateAttackers(to, opponent, kinglessOccupancy) == BitBoard.EMPTY;
+                if (isLegal && move.isCastlingMove()) {
+                    isLegal = checkers == BitBoard.EMPTY &&
+                            bitBoard.calculateAttackers((from + to) / 2, opponent, occupancy) == BitBoard.EMPTY;
+                }
+            } else if (move instanceof PawnEnPassantAttack) {
+                long captured = BitBoard.bit(move.getAttackedPiece().getPiecePosition());
+                long occupancyAfter = (occupancy & ~BitBoard.bit(from) & ~captured) | BitBoard.bit(to);
+                isLegal = (bitBoard.calculateAttackers(kingCoordinate, opponent, occupancyAfter) & ~captured) ==
+                        BitBoard.EMPTY;
+            } else {
+                isLegal = (checkBlocks & BitBoard.bit(to)) != BitBoard.EMPTY &&
+                        ((pinned & BitBoard.bit(from)) == BitBoard.EMPTY ||
+                                (AttackTables.line(kingCoordinate, from) & BitBoard.bit(to)) != BitBoard.EMPTY);
+            }
+            if (isLegal) {
+                legalMoves.add(move);
             }
         }
+        return legalMoves;
+    }
 
-        return attackMoves;
+    /**
+     * Iterates over the active pieces and gets their moves, castle moves are not included
+     * @return The piece moves
+     */
+    private Collection<Move> getStandardLegalMoves() {
+        if (this.standardLegalMoves == null) {
+            final List<Move> standardMoves = new ArrayList<Move>(35);
+            for (Piece piece : getActivePieces()) {
+                standardMoves.addAll(piece.calculateLegalMoves(this.board));
+            }
+            this.standardLegalMoves = standardMoves;
+        }
+        return this.standardLegalMoves;
     }
 
     /**
      * Makes move by creating MoveTransition class and MoveStatus
      * ILLEGAL_MOVE, LEAVES_PLAYER_IN_CHESS or DONE
+     * The legal moves already leave out the moves which expose the king, so only a legal move is executed
      * @param move The move
      * @return MoveTransition class
      */
     public MoveTransition makeMove(Move move) {
-        if (!isMoveLegal(move)) {
-            return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
+        if (isMoveLegal(move)) {
+            return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
         }
-        Board transitionedBoard = move.execute();
-        Collection<Move> kingAttacks = Player.calculateAttacksOnTile(
-                transitionedBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionedBoard.currentPlayer().getLegalMoves());
-        if (!kingAttacks.isEmpty()) {
+        if (move.getMovedPiece() != null && move.getMovedPiece().getPieceAlliance() == getAlliance() &&
+                getStandardLegalMoves().contains(move)) {
             return new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
         }
-        return new MoveTransition(this.board, transitionedBoard, move, MoveStatus.DONE);
+        return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
     }
 
     public abstract Collection<Piece> getActivePieces();
@@ -135,6 +248,12 @@ public abstract class Player {
 
     public abstract Player getOpponent();
 
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    /**
+     * The tiles the king passes are checked with Board.isSquareAttacked,
+     * so the opponent moves are not generated
+     * @param playerLegals The piece moves of the player
+     * @return The castle moves
+     */
+    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals);
 
 }
\ No newline at end of file
@@ -18,12 +18,12 @@ import java.util.List;
  */
 public class WhitePlayer extends Player {
 
-    public WhitePlayer(Board board,Collection<Move> whiteStandardLegals, Collection<Move> blackStandardLegals) {
-        super(board, whiteStandardLegals, blackStandardLegals);
+    public WhitePlayer(Board board) {
+        super(board);
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals) {
         List<Move> kingCastles = new ArrayList<Move>();
 
         if(this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 60 && !this.isInCheck()) {
@@ -31,7 +31,7 @@ public class WhitePlayer extends Player {
             if(!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()) {
                 Tile rookTile = this.board.getTile(63);
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() && Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if(!this.board.isSquareAttacked(61, Alliance.BLACK) && !this.board.isSquareAttacked(62, Alliance.BLACK) &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         Move move = new KingSideCastleMove(this.board, this.playerKing, 62, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 61);
                         kingCastles.add(move);
@@ -43,8 +43,8 @@ public class WhitePlayer extends Player {
                     !this.board.getTile(57).isTileOccupied()) {
                 Tile rookTile = this.board.getTile(56);
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() && rookTile.getPiece().getPieceType().isRook()) {
+                    if(!this.board.isSquareAttacked(58, Alliance.BLACK) &&
+                            !this.board.isSquareAttacked(59, Alliance.BLACK) && rookTile.getPiece().getPieceType().isRook()) {
                         Move move = new QueenSideCastleMove(this.board, this.playerKing, 58, (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 59);
                         kingCastles.add(move);
                     }
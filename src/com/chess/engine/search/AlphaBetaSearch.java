@@ -0,0 +1,551 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.eval.BoardEvaluator;
+import com.chess.engine.eval.StandardBoardEvaluator;
+import com.chess.engine.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The iterative deepening alpha-beta search in negamax form
+ * Each iteration searches one ply deeper and tries the best line of the previous iteration first
+ * The move ordering scores the moves and the best remaining move is picked one at a time,
+ * the share of cut offs made by the first move tells how well the moves are ordered
+ * At depth 0 a quiescence search resolves the captures, so the leaves are quiet boards
+ * The search runs on a mutable SearchBoard made from the root board, moves are packed ints
+ * generated into one reusable move list per ply and made and taken back in place,
+ * the moves which leave the king in check are skipped
+ * The principal variation is kept packed and turned into moves of the root board once per iteration
+ * Results are stored in a transposition table, its bounds cut off boards searched before outside the principal
+ * variation, which keeps the line whole, and its best move is tried first
+ * The first move of a board is searched with the full window, the others with a null window which only proves
+ * them worse, a move failing high on it is searched again with the full window (principal variation search)
+ * Moves giving check are searched one ply deeper
+ * A mate is scored MATE_SCORE minus its distance in plies from the root, so shorter mates score higher,
+ * the transposition table stores mate scores relative to the board and the root distance is added back on a probe
+ * A board is cut off when even a mate from it can not beat a mate found closer to the root
+ * A board below the root repeating an earlier board of the search or the game, or reached after fifty moves
+ * of each side without a pawn move or capture, is scored as a draw
+ * Outside the principal variation the search prunes and reduces, each technique can be switched off in the options:
+ * reverse futility cuts off a board near the leaves whose evaluation is far above beta,
+ * null move pruning cuts off a board where passing the turn still fails high on a shallower search,
+ * unless the side to move has little more than pawns left and may be in zugzwang,
+ * futility pruning skips the quiet moves near the leaves when the evaluation is far below alpha
+ * and late move reductions search the late quiet moves shallower first, a move beating alpha is searched again
+ * The root is searched with an aspiration window around the score of the previous iteration,
+ * which is widened when the score falls outside of it
+ * The search stops at the depth, time or node limit or when stop is called from another thread,
+ * an interrupted iteration is thrown away and the last completed one is returned
+ * The time manager decides between iterations whether to start another one and is read every
+ * CHECK_INTERVAL nodes to stop an iteration at the maximum time
+ *
+ * @see <a href="https://www.chessprogramming.org/Negamax">Negamax</a>
+ * @see <a href="https://www.chessprogramming.org/Iterative_Deepening">Iterative deepening</a>
+ * @see <a href="https://www.chessprogramming.org/Transposition_Table">Transposition table</a>
+ * @see <a href="https://www.chessprogramming.org/Principal_Variation_Search">Principal variation search</a>
+ * @see <a href="https://www.chessprogramming.org/Mate_Distance_Pruning">Mate distance pruning</a>
+ * @see <a href="https://www.chessprogramming.org/Repetitions">Repetitions</a>
+ * @see <a href="https://www.chessprogramming.org/Null_Move_Pruning">Null move pruning</a>
+ * @see <a href="https://www.chessprogramming.org/Late_Move_Reductions">Late move reductions</a>
+ * @see <a href="https://www.chessprogramming.org/Futility_Pruning">Futility pruning</a>
+ * @see <a href="https://www.chessprogramming.org/Aspiration_Windows">Aspiration windows</a>
+ */
+public class AlphaBetaSearch {
+
+    public static final int INFINITY = 1000000;
+    public static final int MATE_SCORE = 100000;
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+
+    /**
+     * The number of nodes between two reads of the clock
+     */
+    private static final int CHECK_INTERVAL = 1024;
+    /**
+     * Scores beyond this bound are mate scores, which the pruning leaves alone
+     */
+    public static final int MATE_BOUND = MATE_SCORE - SearchLimits.MAX_DEPTH;
+
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    /**
+     * The side to move needs at least this much material besides pawns and king to pass the turn,
+     * with less zugzwang is likely and the null move would not be a lower bound
+     */
+    private static final int NULL_MOVE_MIN_MATERIAL = PieceType.ROOK.getPieceValue();
+    private static final int REVERSE_FUTILITY_MAX_DEPTH = 3;
+    private static final int REVERSE_FUTILITY_MARGIN = 120;
+    /**
+     * Indexed by the remaining depth
+     */
+    private static final int[] FUTILITY_MARGINS = {0, 200, 350};
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_MIN_MOVES = 4;
+    private static final int ASPIRATION_WINDOW = 50;
+
+    private final BoardEvaluator evaluator;
+    private final MoveOrdering moveOrdering;
+    private final TranspositionTable transpositionTable;
+    private final SearchOptions options;
+    private final List<SearchListener> listeners;
+    private final MoveList[] moveLists;
+    private final StaticExchange staticExchange;
+    private final int[][] principalVariation;
+    private final int[] principalVariationLength;
+    private volatile boolean stopped;
+    private long nodes;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private TimeManager timeManager;
+    private long nodeLimit;
+    private int[] previousVariation;
+
+    public AlphaBetaSearch() {
+        this(new TranspositionTable(DEFAULT_HASH_MEGABYTES));
+    }
+
+    /**
+     * @param transpositionTable The transposition table, may be shared with other searches
+     */
+    public AlphaBetaSearch(TranspositionTable transpositionTable) {
+        this(new StandardBoardEvaluator(), new HeuristicMoveOrdering(), transpositionTable);
+    }
+
+    /**
+     * @param evaluator Scores the leaf boards
+     * @param moveOrdering Orders the moves of every searched board
+     * @param transpositionTable The transposition table, may be shared with other searches
+     */
+    public AlphaBetaSearch(BoardEvaluator evaluator, MoveOrdering moveOrdering,
+                           TranspositionTable transpositionTable) {
+        this(evaluator, moveOrdering, transpositionTable, SearchOptions.DEFAULT);
+    }
+
+    /**
+     * @param evaluator Scores the leaf boards
+     * @param moveOrdering Orders the moves of every searched board
+     * @param transpositionTable The transposition table, may be shared with other searches
+     * @param options Switches the pruning techniques on and off
+     */
+    public AlphaBetaSearch(BoardEvaluator evaluator, MoveOrdering moveOrdering,
+                           TranspositionTable transpositionTable, SearchOptions options) {
+        this.evaluator = evaluator;
+        this.moveOrdering = moveOrdering;
+        this.transpositionTable = transpositionTable;
+        this.options = options;
+        this.listeners = new ArrayList<SearchListener>();
+        this.staticExchange = new StaticExchange();
+        this.moveLists = new MoveList[SearchLimits.MAX_DEPTH + 1];
+        for (int i = 0; i < this.moveLists.length; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+        this.principalVariation = new int[SearchLimits.MAX_DEPTH + 1][SearchLimits.MAX_DEPTH + 1];
+        this.principalVariationLength = new int[SearchLimits.MAX_DEPTH + 1];
+        this.previousVariation = new int[0];
+    }
+
+    public void addListener(SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops the running search, safe to call from any thread
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * @return The nodes visited by the running or the last search, approximate when read from another thread
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return The boards of the last search where a move failed high
+     */
+    public long getCutoffs() {
+        return this.cutoffs;
+    }
+
+    /**
+     * @return The boards of the last search where the first legal move failed high, a measure of the move ordering
+     */
+    public long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+
+    /**
+     * @return The percentage of the cut offs made by the first legal move
+     */
+    public int getFirstMoveCutoffRate() {
+        return this.cutoffs == 0L ? 0 : (int) (this.firstMoveCutoffs * 100L / this.cutoffs);
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    public SearchOptions getOptions() {
+        return this.options;
+    }
+
+    /**
+     * @param board The root board
+     * @param limits The depth, time and node limits
+     * @return The result of the deepest completed iteration
+     */
+    public SearchResult search(Board board, SearchLimits limits) {
+        resetStop();
+        this.transpositionTable.newSearch();
+        return search(board, limits, 1);
+    }
+
+    /**
+     * Clears the stop flag, LazySmpSearch.prepare does it before the search thread starts
+     * so an early stop call is not lost
+     */
+    void resetStop() {
+        this.stopped = false;
+    }
+
+    /**
+     * @param board The root board
+     * @param limits The depth, time and node limits
+     * @param firstDepth The depth of the first iteration, helper threads of a parallel search start deeper
+     * @return The result of the deepest completed iteration
+     */
+    SearchResult search(Board board, SearchLimits limits, int firstDepth) {
+        this.timeManager = new TimeManager(limits, board);
+        this.nodes = 0L;
+        this.cutoffs = 0L;
+        this.firstMoveCutoffs = 0L;
+        this.moveOrdering.newSearch();
+        this.nodeLimit = limits.getNodes();
+        this.previousVariation = new int[0];
+        final SearchBoard searchBoard = SearchBoard.fromBoard(board);
+
+        SearchResult result = new SearchResult(Move.NULL_MOVE, 0, 0, 0L, 0L, 0.0, new ArrayList<Move>());
+        long previousIterationNodes = 0L;
+        for (int depth = Math.min(firstDepth, limits.getDepth()); depth <= limits.getDepth(); depth++) {
+            long iterationStartNodes = this.nodes;
+            int score = result.getDepth() > 0 && this.options.isAspirationWindows() ?
+                    aspirationSearch(searchBoard, depth, result.getScore()) :
+                    negamax(searchBoard, depth, 0, -INFINITY, INFINITY);
+            if (this.stopped && depth > 1) {
+                break;
+            }
+            List<Move> line = collectPrincipalVariation(board);
+            if (line.isEmpty()) {
+                break;
+            }
+            long iterationNodes = this.nodes - iterationStartNodes;
+            double effectiveBranchingFactor = previousIterationNodes == 0L ? 0.0 :
+                    (double) iterationNodes / previousIterationNodes;
+            previousIterationNodes = iterationNodes;
+            result = new SearchResult(line.get(0), score, depth, this.nodes,
+                    this.timeManager.getElapsedMillis(), effectiveBranchingFactor, line);
+            for (SearchListener listener : this.listeners) {
+                listener.onIterationComplete(result);
+            }
+            this.timeManager.onIterationComplete(this.previousVariation[0]);
+            if (this.stopped || isMateScore(score) || this.timeManager.shouldStop()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Searches the root with a window around the score of the previous iteration,
+     * the window is widened on the failing side until the score falls inside it
+     */
+    private int aspirationSearch(SearchBoard board, int depth, int previousScore) {
+        if (Math.abs(previousScore) >= MATE_BOUND) {
+            return negamax(board, depth, 0, -INFINITY, INFINITY);
+        }
+        int window = ASPIRATION_WINDOW;
+        int alpha = previousScore - window;
+        int beta = previousScore + window;
+        while (true) {
+            int score = negamax(board, depth, 0, alpha, beta);
+            if (this.stopped) {
+                return score;
+            }
+            window *= 4;
+            if (score <= alpha) {
+                alpha = Math.max(score - window, -INFINITY);
+            } else if (score >= beta) {
+                beta = Math.min(score + window, INFINITY);
+            } else {
+                return score;
+            }
+        }
+    }
+
+    private int negamax(SearchBoard board, int depth, int ply, int alpha, int beta) {
+        this.principalVariationLength[ply] = 0;
+        if (isTimeToStop()) {
+            return 0;
+        }
+        this.nodes++;
+        if (ply > 0) {
+            alpha = Math.max(alpha, -MATE_SCORE + ply);
+            beta = Math.min(beta, MATE_SCORE - ply - 1);
+            if (alpha >= beta) {
+                return alpha;
+            }
+            if (board.isFiftyMoveDraw() || board.isRepetition()) {
+                return 0;
+            }
+        }
+        if (depth == 0 || ply == SearchLimits.MAX_DEPTH) {
+            return quiescence(board, ply, alpha, beta);
+        }
+
+        final boolean principalVariationNode = beta - alpha > 1;
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        int hashMove = PackedMove.NULL_MOVE;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            if (!principalVariationNode && TranspositionTable.getDepth(entry) >= depth) {
+                int entryScore = scoreFromTable(TranspositionTable.getScore(entry), ply);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT ||
+                        (bound == TranspositionTable.LOWER_BOUND && entryScore >= beta) ||
+                        (bound == TranspositionTable.UPPER_BOUND && entryScore <= alpha)) {
+                    return entryScore;
+                }
+            }
+            hashMove = TranspositionTable.getMove(entry);
+        }
+        if (hashMove == PackedMove.NULL_MOVE) {
+            hashMove = previousVariationMove(ply);
+        }
+
+        final boolean inCheck = board.isInCheck();
+        boolean futile = false;
+        if (!principalVariationNode && !inCheck && Math.abs(beta) < MATE_BOUND) {
+            final int staticEvaluation = this.evaluator.evaluate(board);
+            if (this.options.isReverseFutilityPruning() && depth <= REVERSE_FUTILITY_MAX_DEPTH &&
+                    staticEvaluation - REVERSE_FUTILITY_MARGIN * depth >= beta) {
+                return staticEvaluation - REVERSE_FUTILITY_MARGIN * depth;
+            }
+            if (this.options.isNullMovePruning() && depth >= NULL_MOVE_MIN_DEPTH && staticEvaluation >= beta &&
+                    board.getLastMove() != PackedMove.NULL_MOVE &&
+                    nonPawnMaterial(board, board.getSideToMove()) >= NULL_MOVE_MIN_MATERIAL) {
+                int reduction = depth > 6 ? 3 : 2;
+                board.makeNullMove();
+                int score = -negamax(board, depth - 1 - reduction, ply + 1, -beta, -beta + 1);
+                board.unmakeNullMove();
+                if (this.stopped) {
+                    return 0;
+                }
+                if (score >= beta) {
+                    return score >= MATE_BOUND ? beta : score;
+                }
+            }
+            futile = this.options.isFutilityPruning() && depth < FUTILITY_MARGINS.length &&
+                    staticEvaluation + FUTILITY_MARGINS[depth] <= alpha;
+        }
+
+        final MoveList moves = this.moveLists[ply];
+        board.generatePseudoLegalMoves(moves);
+        this.moveOrdering.orderMoves(board, moves, hashMove, ply);
+
+        final int originalAlpha = alpha;
+        int bestMove = PackedMove.NULL_MOVE;
+        int legalMoves = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.pickBest(i);
+            if (!board.makeMove(move)) {
+                continue;
+            }
+            legalMoves++;
+            final boolean quiet = !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+            final boolean givesCheck = board.isInCheck();
+            if (futile && quiet && legalMoves > 1 && !givesCheck) {
+                board.unmakeMove();
+                continue;
+            }
+            final int newDepth = givesCheck ? depth : depth - 1;
+            int score;
+            if (legalMoves == 1) {
+                score = -negamax(board, newDepth, ply + 1, -beta, -alpha);
+            } else {
+                int reduction = 0;
+                if (this.options.isLateMoveReductions() && depth >= LATE_MOVE_MIN_DEPTH &&
+                        legalMoves >= LATE_MOVE_MIN_MOVES && quiet && !inCheck && !givesCheck) {
+                    reduction = Math.min(legalMoves >= 2 * LATE_MOVE_MIN_MOVES ? 2 : 1, depth - 2);
+                }
+                score = -negamax(board, newDepth - reduction, ply + 1, -alpha - 1, -alpha);
+                if (score > alpha && reduction > 0 && !this.stopped) {
+                    score = -negamax(board, newDepth, ply + 1, -alpha - 1, -alpha);
+                }
+                if (score > alpha && score < beta && !this.stopped) {
+                    score = -negamax(board, newDepth, ply + 1, -beta, -alpha);
+                }
+            }
+            board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                updatePrincipalVariation(move, ply);
+                if (alpha >= beta) {
+                    this.cutoffs++;
+                    if (legalMoves == 1) {
+                        this.firstMoveCutoffs++;
+                    }
+                    this.moveOrdering.onCutoff(board, move, depth, ply);
+                    break;
+                }
+            }
+        }
+        if (legalMoves == 0) {
+            return inCheck ? -MATE_SCORE + ply : 0;
+        }
+        this.transpositionTable.store(key, bestMove, scoreToTable(alpha, ply), depth,
+                alpha >= beta ? TranspositionTable.LOWER_BOUND :
+                alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND);
+        return alpha;
+    }
+
+    /**
+     * Searches the captures and promotions only, until the board is quiet, so the search does not stop
+     * in the middle of an exchange
+     * The side to move may stand pat with the static evaluation instead of capturing,
+     * captures which lose material by static exchange evaluation are skipped
+     */
+    private int quiescence(SearchBoard board, int ply, int alpha, int beta) {
+        this.principalVariationLength[ply] = 0;
+        if (isTimeToStop()) {
+            return 0;
+        }
+        this.nodes++;
+        int standPat = this.evaluator.evaluate(board);
+        if (standPat >= beta || ply == SearchLimits.MAX_DEPTH) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        final MoveList moves = this.moveLists[ply];
+        board.generatePseudoLegalMoves(moves);
+        this.moveOrdering.orderMoves(board, moves, PackedMove.NULL_MOVE, ply);
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.pickBest(i);
+            if (!PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) {
+                continue;
+            }
+            if (!PackedMove.isPromotion(move) && this.staticExchange.evaluate(board, move) < 0) {
+                continue;
+            }
+            if (!board.makeMove(move)) {
+                continue;
+            }
+            int score = -quiescence(board, ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                updatePrincipalVariation(move, ply);
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * @param score A score from the point of view of the side to move
+     * @return True if the score is a mate for either side
+     */
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE_BOUND;
+    }
+
+    /**
+     * @param score A mate score
+     * @return The moves to the mate, positive when the side to move mates and negative when it is mated
+     */
+    public static int getMateInMoves(int score) {
+        return score > 0 ? (MATE_SCORE - score + 1) / 2 : -(MATE_SCORE + score) / 2;
+    }
+
+    /**
+     * Mate scores count the plies from the root, the table stores them counted from the board itself
+     */
+    private static int scoreToTable(int score, int ply) {
+        return score >= MATE_BOUND ? score + ply : score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        return score >= MATE_BOUND ? score - ply : score <= -MATE_BOUND ? score + ply : score;
+    }
+
+    /**
+     * @return The value of the knights, bishops, rooks and queens of the alliance
+     */
+    private static int nonPawnMaterial(SearchBoard board, Alliance alliance) {
+        return Long.bitCount(board.getPieceBoard(alliance, PieceType.KNIGHT)) * PieceType.KNIGHT.getPieceValue() +
+                Long.bitCount(board.getPieceBoard(alliance, PieceType.BISHOP)) * PieceType.BISHOP.getPieceValue() +
+                Long.bitCount(board.getPieceBoard(alliance, PieceType.ROOK)) * PieceType.ROOK.getPieceValue() +
+                Long.bitCount(board.getPieceBoard(alliance, PieceType.QUEEN)) * PieceType.QUEEN.getPieceValue();
+    }
+
+    private boolean isTimeToStop() {
+        if (!this.stopped && (this.nodes & (CHECK_INTERVAL - 1)) == 0) {
+            if (this.timeManager.isMaximumTimeReached() ||
+                    (this.nodeLimit > 0L && this.nodes >= this.nodeLimit)) {
+                this.stopped = true;
+            }
+        }
+        return this.stopped;
+    }
+
+    /**
+     * The moves of the last completed iteration are tried first while the search follows its line
+     */
+    private int previousVariationMove(int ply) {
+        return ply < this.previousVariation.length ? this.previousVariation[ply] : PackedMove.NULL_MOVE;
+    }
+
+    private void updatePrincipalVariation(int move, int ply) {
+        this.principalVariation[ply][0] = move;
+        int childLength = this.principalVariationLength[ply + 1];
+        System.arraycopy(this.principalVariation[ply + 1], 0, this.principalVariation[ply], 1, childLength);
+        this.principalVariationLength[ply] = childLength + 1;
+    }
+
+    /**
+     * Replays the packed principal variation on the root board to get its moves
+     */
+    private List<Move> collectPrincipalVariation(Board board) {
+        final List<Move> line = new ArrayList<Move>(this.principalVariationLength[0]);
+        this.previousVariation = Arrays.copyOf(this.principalVariation[0], this.principalVariationLength[0]);
+        Board lineBoard = board;
+        for (int packedMove : this.previousVariation) {
+            Move move = PackedMove.toMove(lineBoard, packedMove);
+            if (move == Move.NULL_MOVE) {
+                break;
+            }
+            line.add(move);
+            lineBoard = lineBoard.currentPlayer().makeMove(move).getToBoard();
+        }
+        return line;
+    }
+}
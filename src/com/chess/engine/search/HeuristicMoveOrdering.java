@@ -0,0 +1,121 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The default move ordering, the moves are tried in this order
+ * the hash move, the best move stored for the board
+ * captures and promotions by MVV-LVA, the most valuable victim first and the least valuable attacker among equal victims
+ * the two killer moves of the ply, quiet moves which caused a cut off in a sibling board
+ * the other quiet moves by their history score, which grows with every cut off the move causes anywhere in the tree
+ * The killers and the history belong to one search thread
+ *
+ * @see <a href="https://www.chessprogramming.org/MVV-LVA">MVV-LVA</a>
+ * @see <a href="https://www.chessprogramming.org/Killer_Heuristic">Killer heuristic</a>
+ * @see <a href="https://www.chessprogramming.org/History_Heuristic">History heuristic</a>
+ */
+public class HeuristicMoveOrdering implements MoveOrdering {
+
+    private static final int HASH_MOVE_SCORE = 1000000;
+    private static final int CAPTURE_SCORE = 200000;
+    private static final int FIRST_KILLER_SCORE = 100001;
+    private static final int SECOND_KILLER_SCORE = 100000;
+    /**
+     * The history scores are halved when one reaches the limit, so they stay below the killer scores
+     */
+    private static final int MAX_HISTORY = 50000;
+
+    private final int[][] killers;
+    private final int[][] history;
+
+    public HeuristicMoveOrdering() {
+        this.killers = new int[SearchLimits.MAX_DEPTH + 1][2];
+        this.history = new int[2][BoardUtils.NUM_TILES * BoardUtils.NUM_TILES];
+    }
+
+    @Override
+    public void orderMoves(SearchBoard board, MoveList moves, int bestMove, int ply) {
+        int[] plyKillers = this.killers[ply];
+        int[] sideHistory = this.history[board.getSideToMove().ordinal()];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score;
+            if (move == bestMove) {
+                score = HASH_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                score = CAPTURE_SCORE + scoreCapture(board, move);
+            } else if (move == plyKillers[0]) {
+                score = FIRST_KILLER_SCORE;
+            } else if (move == plyKillers[1]) {
+                score = SECOND_KILLER_SCORE;
+            } else {
+                score = sideHistory[historyIndex(move)];
+            }
+            moves.setScore(i, score);
+        }
+    }
+
+    /**
+     * Only quiet moves are learnt, captures are ordered well enough by MVV-LVA
+     */
+    @Override
+    public void onCutoff(SearchBoard board, int move, int depth, int ply) {
+        if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+            return;
+        }
+        int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        int[] sideHistory = this.history[board.getSideToMove().ordinal()];
+        int index = historyIndex(move);
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] > MAX_HISTORY) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * The killers belong to the boards of the last search and are cleared, the history is kept but halved
+     */
+    @Override
+    public void newSearch() {
+        for (int[] plyKillers : this.killers) {
+            plyKillers[0] = PackedMove.NULL_MOVE;
+            plyKillers[1] = PackedMove.NULL_MOVE;
+        }
+        ageHistory();
+    }
+
+    /**
+     * @return The victim value times 16 minus the attacker type, promotions add the queen value
+     */
+    private static int scoreCapture(SearchBoard board, int move) {
+        int score = 0;
+        if (PackedMove.isCapture(move)) {
+            PieceType victim = PackedMove.isEnPassant(move) ? PieceType.PAWN : board.getPieceType(PackedMove.getTo(move));
+            score += victim.getPieceValue() * 16 - board.getPieceType(PackedMove.getFrom(move)).ordinal();
+        }
+        if (PackedMove.isPromotion(move)) {
+            score += PackedMove.getPromotionType(move).getPieceValue() * 16;
+        }
+        return score;
+    }
+
+    private void ageHistory() {
+        for (int[] sideHistory : this.history) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] /= 2;
+            }
+        }
+    }
+
+    private static int historyIndex(int move) {
+        return PackedMove.getFrom(move) * BoardUtils.NUM_TILES + PackedMove.getTo(move);
+    }
+}
@@ -0,0 +1,148 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Lazy SMP parallel search
+ * Every thread runs its own alpha-beta search of the same root board, the threads only share the
+ * transposition table, so what one thread finds is picked up by the others through the table
+ * Half of the helper threads start one ply deeper, which spreads the threads over different depths
+ * The calling thread runs the main search, when it finishes the helpers are stopped and the deepest
+ * completed result is returned
+ *
+ * @see <a href="https://www.chessprogramming.org/Lazy_SMP">Lazy SMP</a>
+ */
+public class LazySmpSearch {
+
+    private final TranspositionTable transpositionTable;
+    private final AlphaBetaSearch[] workers;
+    private final List<SearchListener> listeners;
+    private long start;
+
+    /**
+     * A search with one thread per available processor and the default table size
+     */
+    public LazySmpSearch() {
+        this(Runtime.getRuntime().availableProcessors(), AlphaBetaSearch.DEFAULT_HASH_MEGABYTES);
+    }
+
+    /**
+     * @param threads The number of search threads, the calling thread included
+     * @param hashMegabytes The size of the shared transposition table
+     */
+    public LazySmpSearch(int threads, int hashMegabytes) {
+        this.transpositionTable = new TranspositionTable(hashMegabytes);
+        this.workers = new AlphaBetaSearch[Math.max(1, threads)];
+        for (int i = 0; i < this.workers.length; i++) {
+            this.workers[i] = new AlphaBetaSearch(this.transpositionTable);
+        }
+        this.listeners = new ArrayList<SearchListener>();
+        this.workers[0].addListener(new SearchListener() {
+            @Override
+            public void onIterationComplete(SearchResult result) {
+                SearchResult totalResult = new SearchResult(result.getBestMove(), result.getScore(),
+                        result.getDepth(), getNodes(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                        result.getEffectiveBranchingFactor(), result.getPrincipalVariation());
+                for (SearchListener listener : listeners) {
+                    listener.onIterationComplete(totalResult);
+                }
+            }
+        });
+    }
+
+    /**
+     * Listeners are called on the calling thread with the iterations of the main search
+     */
+    public void addListener(SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops every search thread, safe to call from any thread
+     */
+    public void stop() {
+        for (AlphaBetaSearch worker : this.workers) {
+            worker.stop();
+        }
+    }
+
+    /**
+     * @return The nodes visited by all threads, approximate while the search runs
+     */
+    public long getNodes() {
+        long nodes = 0L;
+        for (AlphaBetaSearch worker : this.workers) {
+            nodes += worker.getNodes();
+        }
+        return nodes;
+    }
+
+    public int getThreads() {
+        return this.workers.length;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    /**
+     * Clears the stop flags, must be called before every search on the thread that starts it,
+     * before the search thread starts, so a stop call that comes before the search begins is not lost
+     */
+    public void prepare() {
+        for (AlphaBetaSearch worker : this.workers) {
+            worker.resetStop();
+        }
+    }
+
+    /**
+     * The stop flags are not cleared here, see prepare
+     * @param board The root board, shared read only by all threads
+     * @param limits The depth, time and node limits of every thread
+     * @return The deepest completed result, with the nodes of all threads
+     */
+    public SearchResult search(final Board board, final SearchLimits limits) {
+        this.start = System.nanoTime();
+        this.transpositionTable.newSearch();
+
+        final SearchResult[] results = new SearchResult[this.workers.length];
+        final Thread[] helpers = new Thread[this.workers.length - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            final int index = i + 1;
+            helpers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    results[index] = workers[index].search(board, limits, 1 + index % 2);
+                }
+            }, "search-helper-" + index);
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+
+        results[0] = this.workers[0].search(board, limits, 1);
+        stop();
+        for (Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        SearchResult best = results[0];
+        for (int i = 1; i < results.length; i++) {
+            SearchResult result = results[i];
+            if (result != null && result.getBestMove() != Move.NULL_MOVE && result.getDepth() > best.getDepth()) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), getNodes(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start), best.getEffectiveBranchingFactor(),
+                best.getPrincipalVariation());
+    }
+}
@@ -0,0 +1,36 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+
+/**
+ * The move ordering interface
+ * The ordering scores the moves, the search then picks the best remaining move one at a time, see MoveList.pickBest
+ * Good moves first give more alpha-beta cut offs
+ * An ordering may learn from the cut offs of the search, so every search thread needs its own ordering
+ */
+public interface MoveOrdering {
+
+    /**
+     * Sets the ordering score of every move of the list
+     * @param board The board the moves belong to
+     * @param moves The packed moves of the side to move
+     * @param bestMove The best packed move known for the board, e.g. from the transposition table, or 0
+     * @param ply The distance from the root
+     */
+    void orderMoves(SearchBoard board, MoveList moves, int bestMove, int ply);
+
+    /**
+     * Called when a move fails high, after the move is taken back
+     * @param board The board the move was made on
+     * @param move The packed move which caused the cut off
+     * @param depth The remaining depth of the search of the board
+     * @param ply The distance from the root
+     */
+    void onCutoff(SearchBoard board, int move, int depth, int ply);
+
+    /**
+     * Called when a new search starts
+     */
+    void newSearch();
+}
@@ -0,0 +1,155 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+
+/**
+ * The search limits class using the Builder pattern
+ * The search stops at whichever limit is reached first
+ * With a clock the thinking time is not given, the time manager allocates it from the remaining time,
+ * the increment and the moves to go of the player to move
+ *
+ * @see TimeManager
+ */
+public class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth;
+    private final long moveTimeMillis;
+    private final long nodes;
+    private final long whiteTimeMillis;
+    private final long blackTimeMillis;
+    private final long whiteIncrementMillis;
+    private final long blackIncrementMillis;
+    private final int movesToGo;
+
+    private SearchLimits(Builder builder) {
+        this.depth = builder.depth;
+        this.moveTimeMillis = builder.moveTimeMillis;
+        this.nodes = builder.nodes;
+        this.whiteTimeMillis = builder.whiteTimeMillis;
+        this.blackTimeMillis = builder.blackTimeMillis;
+        this.whiteIncrementMillis = builder.whiteIncrementMillis;
+        this.blackIncrementMillis = builder.blackIncrementMillis;
+        this.movesToGo = builder.movesToGo;
+    }
+
+    /**
+     * @return The deepest iteration, between 1 and MAX_DEPTH
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return The thinking time in milliseconds or 0 for no time limit
+     */
+    public long getMoveTimeMillis() {
+        return this.moveTimeMillis;
+    }
+
+    /**
+     * @return The node budget or 0 for no node limit
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @param alliance The player to move
+     * @return The time left on the clock of the player in milliseconds or 0 for no clock
+     */
+    public long getTimeMillis(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteTimeMillis : this.blackTimeMillis;
+    }
+
+    /**
+     * @param alliance The player to move
+     * @return The time added to the clock of the player after each move in milliseconds
+     */
+    public long getIncrementMillis(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteIncrementMillis : this.blackIncrementMillis;
+    }
+
+    /**
+     * @return The moves until the next time control or 0 if the clock has to last the rest of the game
+     */
+    public int getMovesToGo() {
+        return this.movesToGo;
+    }
+
+    /**
+     * @return True if a clock of either player is given
+     */
+    public boolean hasClock() {
+        return this.whiteTimeMillis > 0L || this.blackTimeMillis > 0L;
+    }
+
+    public static SearchLimits depth(final int depth) {
+        return new Builder().setDepth(depth).build();
+    }
+
+    public static SearchLimits moveTime(final long moveTimeMillis) {
+        return new Builder().setMoveTime(moveTimeMillis).build();
+    }
+
+    public static class Builder {
+
+        int depth;
+        long moveTimeMillis;
+        long nodes;
+        long whiteTimeMillis;
+        long blackTimeMillis;
+        long whiteIncrementMillis;
+        long blackIncrementMillis;
+        int movesToGo;
+
+        public Builder() {
+            this.depth = MAX_DEPTH;
+        }
+
+        public Builder setDepth(final int depth) {
+            this.depth = Math.max(1, Math.min(depth, MAX_DEPTH));
+            return this;
+        }
+
+        public Builder setMoveTime(final long moveTimeMillis) {
+            this.moveTimeMillis = moveTimeMillis;
+            return this;
+        }
+
+        public Builder setNodes(final long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        public Builder setWhiteTime(final long whiteTimeMillis) {
+            this.whiteTimeMillis = whiteTimeMillis;
+            return this;
+        }
+
+        public Builder setBlackTime(final long blackTimeMillis) {
+            this.blackTimeMillis = blackTimeMillis;
+            return this;
+        }
+
+        public Builder setWhiteIncrement(final long whiteIncrementMillis) {
+            this.whiteIncrementMillis = whiteIncrementMillis;
+            return this;
+        }
+
+        public Builder setBlackIncrement(final long blackIncrementMillis) {
+            this.blackIncrementMillis = blackIncrementMillis;
+            return this;
+        }
+
+        public Builder setMovesToGo(final int movesToGo) {
+            this.movesToGo = movesToGo;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
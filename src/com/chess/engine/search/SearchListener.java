@@ -0,0 +1,10 @@
+package com.chess.engine.search;
+
+/**
+ * The search listener interface
+ * Notified by the searching thread after every completed iteration
+ */
+public interface SearchListener {
+
+    void onIterationComplete(SearchResult result);
+}
@@ -0,0 +1,124 @@
+package com.chess.engine.search;
+
+/**
+ * The search options class using the Builder pattern
+ * Each pruning technique of the search can be switched off alone, to compare the searches with and without it
+ * All techniques are on by default
+ *
+ * @see <a href="https://www.chessprogramming.org/Pruning">Pruning</a>
+ * @see <a href="https://www.chessprogramming.org/Reductions">Reductions</a>
+ */
+public class SearchOptions {
+
+    public static final SearchOptions DEFAULT = new Builder().build();
+
+    private final boolean nullMovePruning;
+    private final boolean lateMoveReductions;
+    private final boolean futilityPruning;
+    private final boolean reverseFutilityPruning;
+    private final boolean aspirationWindows;
+
+    private SearchOptions(Builder builder) {
+        this.nullMovePruning = builder.nullMovePruning;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.futilityPruning = builder.futilityPruning;
+        this.reverseFutilityPruning = builder.reverseFutilityPruning;
+        this.aspirationWindows = builder.aspirationWindows;
+    }
+
+    /**
+     * @return True if a board is cut off when passing the turn still fails high on a shallower search
+     */
+    public boolean isNullMovePruning() {
+        return this.nullMovePruning;
+    }
+
+    /**
+     * @return True if the late quiet moves are searched shallower first
+     */
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    /**
+     * @return True if the quiet moves are skipped near the leaves when the evaluation is far below alpha
+     */
+    public boolean isFutilityPruning() {
+        return this.futilityPruning;
+    }
+
+    /**
+     * @return True if a board near the leaves is cut off when the evaluation is far above beta
+     */
+    public boolean isReverseFutilityPruning() {
+        return this.reverseFutilityPruning;
+    }
+
+    /**
+     * @return True if the root is searched with a narrow window around the score of the previous iteration
+     */
+    public boolean isAspirationWindows() {
+        return this.aspirationWindows;
+    }
+
+    /**
+     * @return The options with every technique switched off, a plain alpha-beta search
+     */
+    public static SearchOptions none() {
+        return new Builder().setNullMovePruning(false).setLateMoveReductions(false).setFutilityPruning(false)
+                .setReverseFutilityPruning(false).setAspirationWindows(false).build();
+    }
+
+    @Override
+    public String toString() {
+        return "nullMove " + this.nullMovePruning + " lmr " + this.lateMoveReductions + " futility " +
+                this.futilityPruning + " reverseFutility " + this.reverseFutilityPruning + " aspiration " +
+                this.aspirationWindows;
+    }
+
+    public static class Builder {
+
+        boolean nullMovePruning;
+        boolean lateMoveReductions;
+        boolean futilityPruning;
+        boolean reverseFutilityPruning;
+        boolean aspirationWindows;
+
+        public Builder() {
+            this.nullMovePruning = true;
+            this.lateMoveReductions = true;
+            this.futilityPruning = true;
+            this.reverseFutilityPruning = true;
+            this.aspirationWindows = true;
+        }
+
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setFutilityPruning(final boolean futilityPruning) {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        public Builder setReverseFutilityPruning(final boolean reverseFutilityPruning) {
+            this.reverseFutilityPruning = reverseFutilityPruning;
+            return this;
+        }
+
+        public Builder setAspirationWindows(final boolean aspirationWindows) {
+            this.aspirationWindows = aspirationWindows;
+            return this;
+        }
+
+        public SearchOptions build() {
+            return new SearchOptions(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The search result of a completed iteration
+ * The score is in centipawns from the point of view of the player to move at the root
+ * The elapsed time is the time to reach the depth, the effective branching factor the nodes of the iteration
+ * divided by the nodes of the one before it
+ */
+public class SearchResult {
+
+    private final Move bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedMillis;
+    private final double effectiveBranchingFactor;
+    private final List<Move> principalVariation;
+
+    SearchResult(Move bestMove, int score, int depth, long nodes, long elapsedMillis,
+                 double effectiveBranchingFactor, List<Move> principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+        this.effectiveBranchingFactor = effectiveBranchingFactor;
+        this.principalVariation = ImmutableList.copyOf(principalVariation);
+    }
+
+    /**
+     * @return The best move or Move.NULL_MOVE when the root player has no legal move
+     */
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    /**
+     * @return The nodes of the last iteration divided by the nodes of the iteration before, 0 for the first one
+     */
+    public double getEffectiveBranchingFactor() {
+        return this.effectiveBranchingFactor;
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedMillis == 0L ? 0L : this.nodes * 1000L / this.elapsedMillis;
+    }
+
+    /**
+     * @return The expected line starting with the best move
+     */
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    /**
+     * @return The moves in coordinate notation, e.g. "e2e4 e7e5"
+     */
+    public String principalVariationToString() {
+        StringBuilder builder = new StringBuilder();
+        for (Move move : this.principalVariation) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()))
+                    .append(BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " score " + this.score + " nodes " + this.nodes + " time " +
+                this.elapsedMillis + " nps " + getNodesPerSecond() + " ebf " +
+                String.format("%.2f", this.effectiveBranchingFactor) + " pv " + principalVariationToString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+
+/**
+ * Orders the best move first, then the captures, then the other moves
+ */
+public class SimpleMoveOrdering implements MoveOrdering {
+
+    private static final int BEST_MOVE_SCORE = 2;
+    private static final int CAPTURE_SCORE = 1;
+
+    @Override
+    public void orderMoves(SearchBoard board, MoveList moves, int bestMove, int ply) {
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            moves.setScore(i, move == bestMove ? BEST_MOVE_SCORE : PackedMove.isCapture(move) ? CAPTURE_SCORE : 0);
+        }
+    }
+
+    @Override
+    public void onCutoff(SearchBoard board, int move, int depth, int ply) {
+    }
+
+    @Override
+    public void newSearch() {
+    }
+}
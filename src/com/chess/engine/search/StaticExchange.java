@@ -0,0 +1,89 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.PieceType;
+
+/**
+ * The static exchange evaluation
+ * Resolves the captures on the destination tile of a move without making them:
+ * both sides take back in turn with their least valuable attacker, and either side may stop when going on loses
+ * The attackers are looked up from the tile on an occupancy the exchanged pieces are taken off,
+ * so sliders behind them join the exchange
+ * The gain list is kept between calls, an instance belongs to one search thread
+ *
+ * @see <a href="https://www.chessprogramming.org/Static_Exchange_Evaluation">Static exchange evaluation</a>
+ */
+public class StaticExchange {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int MAX_EXCHANGES = 32;
+
+    private final int[] gains;
+
+    public StaticExchange() {
+        this.gains = new int[MAX_EXCHANGES];
+    }
+
+    /**
+     * @param board The board the move is made on
+     * @param move A packed capture or promotion
+     * @return The material the side to move wins with the move in centipawns, negative if it loses material
+     */
+    public int evaluate(final SearchBoard board, final int move) {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        long occupancy = board.getOccupancy() & ~BitBoard.bit(from);
+
+        int captured = 0;
+        if (PackedMove.isEnPassant(move)) {
+            captured = PieceType.PAWN.getPieceValue();
+            occupancy &= ~BitBoard.bit(board.getEnPassantPawn());
+        } else if (PackedMove.isCapture(move)) {
+            captured = board.getPieceType(to).getPieceValue();
+        }
+        int attackerValue = board.getPieceType(from).getPieceValue();
+        if (PackedMove.isPromotion(move)) {
+            int promotionGain = PackedMove.getPromotionType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
+            captured += promotionGain;
+            attackerValue += promotionGain;
+        }
+
+        Alliance side = board.getSideToMove().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        this.gains[0] = captured;
+        int depth = 0;
+        while (depth < MAX_EXCHANGES - 1) {
+            long attackers = board.getAttackers(to, side, occupancy) & occupancy;
+            if (attackers == BitBoard.EMPTY) {
+                break;
+            }
+            PieceType attackerType = null;
+            long attacker = BitBoard.EMPTY;
+            for (PieceType pieceType : PIECE_TYPES) {
+                attacker = attackers & board.getPieceBoard(side, pieceType);
+                if (attacker != BitBoard.EMPTY) {
+                    attackerType = pieceType;
+                    break;
+                }
+            }
+            attacker &= -attacker;
+            Alliance other = side.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+            if (attackerType.isKing() &&
+                    (board.getAttackers(to, other, occupancy & ~attacker) & occupancy) != BitBoard.EMPTY) {
+                break;
+            }
+            depth++;
+            this.gains[depth] = attackerValue - this.gains[depth - 1];
+            occupancy &= ~attacker;
+            attackerValue = attackerType.getPieceValue();
+            side = other;
+        }
+        while (depth > 0) {
+            depth--;
+            this.gains[depth] = -Math.max(-this.gains[depth], this.gains[depth + 1]);
+        }
+        return this.gains[0];
+    }
+}
@@ -0,0 +1,142 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocates the thinking time of one move and tells the search when to stop
+ * With a clock the optimum time is the remaining time shared over the moves to go plus most of the increment,
+ * the maximum time is a few optimum times but at most half of the remaining time
+ * With a move time both are the move time, without either the search is not timed
+ * The optimum time is checked between iterations, a new iteration is not started once half of it has passed,
+ * since the next iteration takes about as long as all the ones before together
+ * When the best move changes between iterations the optimum time is stretched, up to twice over,
+ * and a timed search with a single legal move stops after the first iteration
+ * The maximum time is checked during the iterations every few nodes, on the monotonic nanosecond timer
+ *
+ * @see <a href="https://www.chessprogramming.org/Time_Management">Time management</a>
+ */
+public class TimeManager {
+
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+    /**
+     * Kept off the clock for the time the move takes to reach the board
+     */
+    public static final long MOVE_OVERHEAD_MILLIS = 20L;
+
+    private static final int MAXIMUM_OPTIMUM_RATIO = 4;
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private final long startNanos;
+    private final long optimumNanos;
+    private final long maximumNanos;
+    private final boolean singleLegalMove;
+    private double bestMoveChanges;
+    private int bestMove;
+    private int iterations;
+
+    /**
+     * Starts the timer
+     * @param limits The search limits
+     * @param board The root board, its player to move is the one whose clock is used
+     */
+    public TimeManager(SearchLimits limits, Board board) {
+        this.startNanos = System.nanoTime();
+        final Alliance alliance = board.currentPlayer().getAlliance();
+        long optimumMillis = NO_LIMIT;
+        long maximumMillis = NO_LIMIT;
+        if (limits.getMoveTimeMillis() > 0L) {
+            optimumMillis = limits.getMoveTimeMillis();
+            maximumMillis = limits.getMoveTimeMillis();
+        } else if (limits.hasClock()) {
+            long available = Math.max(1L, limits.getTimeMillis(alliance) - MOVE_OVERHEAD_MILLIS);
+            int movesToGo = limits.getMovesToGo() > 0 ? limits.getMovesToGo() : DEFAULT_MOVES_TO_GO;
+            maximumMillis = Math.max(1L, available / 2);
+            optimumMillis = available / movesToGo + limits.getIncrementMillis(alliance) * 3 / 4;
+            maximumMillis = Math.min(maximumMillis, optimumMillis * MAXIMUM_OPTIMUM_RATIO);
+            optimumMillis = Math.min(optimumMillis, maximumMillis);
+        }
+        this.optimumNanos = toNanos(optimumMillis);
+        this.maximumNanos = toNanos(maximumMillis);
+        this.singleLegalMove = board.currentPlayer().getLegalMoves().size() == 1;
+    }
+
+    /**
+     * @return True if the search has a move time or a clock
+     */
+    public boolean isTimed() {
+        return this.maximumNanos != NO_LIMIT;
+    }
+
+    /**
+     * @return The time the search aims to use in milliseconds, Long.MAX_VALUE if not timed
+     */
+    public long getOptimumMillis() {
+        return toMillis(this.optimumNanos);
+    }
+
+    /**
+     * @return The time the search never exceeds in milliseconds, Long.MAX_VALUE if not timed
+     */
+    public long getMaximumMillis() {
+        return toMillis(this.maximumNanos);
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - this.startNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getElapsedNanos());
+    }
+
+    /**
+     * Read by the search every few nodes
+     * @return True if the maximum time has passed and the running iteration must be stopped
+     */
+    public boolean isMaximumTimeReached() {
+        return this.maximumNanos != NO_LIMIT && getElapsedNanos() >= this.maximumNanos;
+    }
+
+    /**
+     * Called after every completed iteration, a changed best move counts as an instability
+     * which fades over the following iterations
+     * @param bestMove The best move of the iteration, any int identifying it
+     */
+    public void onIterationComplete(int bestMove) {
+        this.bestMoveChanges /= 2;
+        if (this.iterations > 0 && bestMove != this.bestMove) {
+            this.bestMoveChanges += 1.0;
+        }
+        this.bestMove = bestMove;
+        this.iterations++;
+    }
+
+    /**
+     * @return True if no further iteration should be started
+     */
+    public boolean shouldStop() {
+        if (!isTimed()) {
+            return false;
+        }
+        if (this.singleLegalMove) {
+            return true;
+        }
+        if (this.optimumNanos == this.maximumNanos) {
+            return isMaximumTimeReached();
+        }
+        double instability = 1.0 + Math.min(this.bestMoveChanges, 1.0);
+        long optimum = Math.min((long) (this.optimumNanos * instability), this.maximumNanos);
+        return getElapsedNanos() >= optimum / 2;
+    }
+
+    private static long toNanos(long millis) {
+        return millis == NO_LIMIT ? NO_LIMIT : TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos == NO_LIMIT ? NO_LIMIT : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
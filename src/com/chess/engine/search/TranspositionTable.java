@@ -0,0 +1,204 @@
+package com.chess.engine.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The transposition table caches search results by the Zobrist key of the board
+ * The table is a fixed size array of primitive longs, two per entry: the key XOR the data and the data
+ * Threads probe and store without locks, a torn entry (key word and data word from different writes)
+ * fails the XOR verification and reads as a miss
+ * Entries are grouped in buckets of four, a store replaces the entry with the same key or else the entry
+ * with the lowest depth, entries left by older searches are replaced first
+ *
+ * The data word holds:
+ * bits 0-15 the packed move, see PackedMove (0 for no move)
+ * bits 16-47 the score
+ * bits 48-55 the depth
+ * bits 56-57 the bound
+ * bits 58-63 the age of the search which stored the entry
+ *
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lock-less">Lock-less hash table</a>
+ */
+public class TranspositionTable {
+
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    public static final long NO_ENTRY = 0L;
+
+    private static final int BUCKET_SIZE = 4;
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int AGE_MASK = 63;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private volatile int age;
+
+    private final LongAdder probes;
+    private final LongAdder hits;
+    private final LongAdder stores;
+    private final LongAdder collisions;
+
+    /**
+     * @param sizeMegabytes The table size, rounded down to a power of two number of entries
+     */
+    public TranspositionTable(int sizeMegabytes) {
+        long requestedEntries = Math.max(BUCKET_SIZE, (long) sizeMegabytes * 1024L * 1024L / BYTES_PER_ENTRY);
+        int entries = (int) Math.min(Long.highestOneBit(requestedEntries), 1L << 30);
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.bucketMask = entries / BUCKET_SIZE - 1;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+        this.stores = new LongAdder();
+        this.collisions = new LongAdder();
+    }
+
+    /**
+     * @param key The Zobrist key of the board
+     * @return The data of the entry or NO_ENTRY
+     */
+    public long probe(final long key) {
+        this.probes.increment();
+        int bucket = bucketIndex(key);
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long entryData = this.data[i];
+            if ((this.keys[i] ^ entryData) == key && entryData != NO_ENTRY) {
+                this.hits.increment();
+                return entryData;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * @param key The Zobrist key of the board
+     * @param move The best packed move or 0
+     * @param score The score
+     * @param depth The remaining depth the score was searched with
+     * @param bound UPPER_BOUND, LOWER_BOUND or EXACT
+     */
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        this.stores.increment();
+        int bucket = bucketIndex(key);
+        int currentAge = this.age;
+        int replace = bucket;
+        int replaceValue = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            long entryData = this.data[i];
+            if (entryData == NO_ENTRY || (this.keys[i] ^ entryData) == key) {
+                replace = i;
+                break;
+            }
+            int value = getDepth(entryData) - 4 * ((currentAge - getAge(entryData)) & AGE_MASK);
+            if (value < replaceValue) {
+                replaceValue = value;
+                replace = i;
+            }
+        }
+        long oldData = this.data[replace];
+        if (oldData != NO_ENTRY && (this.keys[replace] ^ oldData) != key) {
+            this.collisions.increment();
+        }
+        // keep the move of the same position when the new result has none
+        int storedMove = move;
+        if (storedMove == 0 && oldData != NO_ENTRY && (this.keys[replace] ^ oldData) == key) {
+            storedMove = getMove(oldData);
+        }
+        long newData = (storedMove & 0xFFFFL) |
+                ((score & 0xFFFFFFFFL) << 16) |
+                ((long) Math.max(0, Math.min(depth, 255)) << 48) |
+                ((long) bound << 56) |
+                ((long) (currentAge & AGE_MASK) << 58);
+        this.keys[replace] = key ^ newData;
+        this.data[replace] = newData;
+    }
+
+    /**
+     * Starts a new search, entries of previous searches become the first to be replaced
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.data, 0L);
+        this.probes.reset();
+        this.hits.reset();
+        this.stores.reset();
+        this.collisions.reset();
+    }
+
+    public static int getMove(final long entryData) {
+        return (int) (entryData & 0xFFFFL);
+    }
+
+    public static int getScore(final long entryData) {
+        return (int) (entryData >>> 16);
+    }
+
+    public static int getDepth(final long entryData) {
+        return (int) ((entryData >>> 48) & 0xFFL);
+    }
+
+    public static int getBound(final long entryData) {
+        return (int) ((entryData >>> 56) & 3L);
+    }
+
+    private static int getAge(final long entryData) {
+        return (int) (entryData >>> 58);
+    }
+
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getStores() {
+        return this.stores.sum();
+    }
+
+    /**
+     * @return The number of stores which replaced an entry of a different position
+     */
+    public long getCollisions() {
+        return this.collisions.sum();
+    }
+
+    /**
+     * @return The permille of the first thousand entries used by the current search
+     */
+    public int getHashFull() {
+        int used = 0;
+        int sample = Math.min(1000, this.data.length);
+        for (int i = 0; i < sample; i++) {
+            if (this.data[i] != NO_ENTRY && getAge(this.data[i]) == this.age) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    @Override
+    public String toString() {
+        long probeCount = getProbes();
+        return "probes " + probeCount + " hits " + getHits() + " (" +
+                (probeCount == 0L ? 0L : getHits() * 100L / probeCount) + "%) stores " + getStores() +
+                " collisions " + getCollisions() + " hashfull " + getHashFull();
+    }
+
+    private int bucketIndex(final long key) {
+        return ((int) (key ^ (key >>> 32)) & this.bucketMask) * BUCKET_SIZE;
+    }
+}
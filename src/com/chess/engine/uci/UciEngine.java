@@ -0,0 +1,359 @@
+package com.chess.engine.uci;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.search.AlphaBetaSearch;
+import com.chess.engine.search.LazySmpSearch;
+import com.chess.engine.search.SearchLimits;
+import com.chess.engine.search.SearchListener;
+import com.chess.engine.search.SearchResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The Universal Chess Interface front end, reads commands from the input and writes the replies to the output
+ * Supported: uci, isready, ucinewgame, setoption (Hash and Threads), position startpos or fen with moves, go, stop, quit
+ * The search runs on its own thread, the input is read on the calling thread meanwhile,
+ * so stop reaches the search at once, the search checks its stop flag on every node
+ * Each completed iteration is reported as an info line, the best move once the search ends,
+ * after go infinite the best move is held back until stop even when the search ends by itself
+ * A position command whose moves continue the moves of the previous one only makes the new moves,
+ * as a game driven by a GUI sends the whole game with every move
+ * Pawns are only promoted to a queen, a move promoting to an other piece is rejected as illegal
+ *
+ * @see <a href="https://www.chessprogramming.org/UCI">UCI</a>
+ */
+public class UciEngine {
+
+    public static final String NAME = "Chess-game";
+    public static final String AUTHOR = "MG-Beron";
+
+    private static final int MIN_HASH_MEGABYTES = 1;
+    private static final int MAX_HASH_MEGABYTES = 4096;
+    private static final int MAX_THREADS = 64;
+    private static final String START_POSITION = "startpos";
+
+    private final BufferedReader input;
+    private final PrintStream output;
+    private int hashMegabytes;
+    private int threads;
+    private LazySmpSearch search;
+    private Thread searchThread;
+    private CountDownLatch stopSignal;
+    private Board board;
+    private String positionBase;
+    private final List<String> positionMoves;
+
+    /**
+     * @param input The commands, one per line
+     * @param output The replies
+     */
+    public UciEngine(InputStream input, PrintStream output) {
+        this.input = new BufferedReader(new InputStreamReader(input));
+        this.output = output;
+        this.hashMegabytes = AlphaBetaSearch.DEFAULT_HASH_MEGABYTES;
+        this.threads = 1;
+        this.board = Board.createStandardBoard();
+        this.positionBase = START_POSITION;
+        this.positionMoves = new ArrayList<String>();
+    }
+
+    /**
+     * Reads and executes commands until quit or the end of the input
+     * @throws IOException If the input can not be read
+     */
+    public void run() throws IOException {
+        String line;
+        while ((line = this.input.readLine()) != null) {
+            if (!execute(line.trim())) {
+                break;
+            }
+        }
+        stopSearch();
+    }
+
+    /**
+     * @param line The command
+     * @return False if the command is quit
+     */
+    boolean execute(final String line) {
+        final String[] tokens = line.split("\\s+");
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + NAME);
+                send("id author " + AUTHOR);
+                send("option name Hash type spin default " + AlphaBetaSearch.DEFAULT_HASH_MEGABYTES + " min " +
+                        MIN_HASH_MEGABYTES + " max " + MAX_HASH_MEGABYTES);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "ucinewgame":
+                stopSearch();
+                getSearch().getTranspositionTable().clear();
+                setPosition(START_POSITION, new String[0]);
+                break;
+            case "setoption":
+                stopSearch();
+                setOption(tokens);
+                break;
+            case "position":
+                stopSearch();
+                position(tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "quit":
+                return false;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    private void setOption(final String[] tokens) {
+        int nameIndex = indexOf(tokens, "name");
+        int valueIndex = indexOf(tokens, "value");
+        if (nameIndex < 0 || valueIndex < 0 || valueIndex + 1 >= tokens.length) {
+            return;
+        }
+        String name = String.join(" ", Arrays.copyOfRange(tokens, nameIndex + 1, valueIndex));
+        try {
+            int value = Integer.parseInt(tokens[valueIndex + 1]);
+            if (name.equalsIgnoreCase("Hash")) {
+                this.hashMegabytes = Math.max(MIN_HASH_MEGABYTES, Math.min(value, MAX_HASH_MEGABYTES));
+                this.search = null;
+            } else if (name.equalsIgnoreCase("Threads")) {
+                this.threads = Math.max(1, Math.min(value, MAX_THREADS));
+                this.search = null;
+            }
+        } catch (NumberFormatException e) {
+            send("info string bad value " + tokens[valueIndex + 1]);
+        }
+    }
+
+    private void position(final String[] tokens) {
+        int movesIndex = indexOf(tokens, "moves");
+        int baseEnd = movesIndex < 0 ? tokens.length : movesIndex;
+        if (tokens.length < 2) {
+            return;
+        }
+        String base = String.join(" ", Arrays.copyOfRange(tokens, 1, baseEnd));
+        if (!tokens[1].equals(START_POSITION) && !tokens[1].equals("fen")) {
+            send("info string unsupported position " + base);
+            return;
+        }
+        String[] moves = movesIndex < 0 ? new String[0] : Arrays.copyOfRange(tokens, movesIndex + 1, tokens.length);
+        setPosition(base, moves);
+    }
+
+    /**
+     * Makes only the moves after the ones already made when the base is the same and the moves continue them
+     */
+    private void setPosition(final String base, final String[] moves) {
+        boolean continues = base.equals(this.positionBase) && moves.length >= this.positionMoves.size();
+        for (int i = 0; continues && i < this.positionMoves.size(); i++) {
+            continues = moves[i].equals(this.positionMoves.get(i));
+        }
+        if (!continues) {
+            try {
+                this.board = base.equals(START_POSITION) ? Board.createStandardBoard() :
+                        FenUtilities.createBoardFromFen(base.substring("fen".length()).trim());
+            } catch (IllegalArgumentException e) {
+                send("info string " + e.getMessage());
+                return;
+            }
+            this.positionBase = base;
+            this.positionMoves.clear();
+        }
+        for (int i = this.positionMoves.size(); i < moves.length; i++) {
+            Move move = parseMove(this.board, moves[i]);
+            if (move == Move.NULL_MOVE) {
+                send("info string illegal move " + moves[i]);
+                return;
+            }
+            this.board = this.board.currentPlayer().makeMove(move).getToBoard();
+            this.positionMoves.add(moves[i]);
+        }
+    }
+
+    private void go(final String[] tokens) {
+        SearchLimits.Builder builder = new SearchLimits.Builder();
+        try {
+            for (int i = 1; i < tokens.length - 1; i++) {
+                switch (tokens[i]) {
+                    case "depth":
+                        builder.setDepth(Integer.parseInt(tokens[++i]));
+                        break;
+                    case "nodes":
+                        builder.setNodes(Long.parseLong(tokens[++i]));
+                        break;
+                    case "movetime":
+                        builder.setMoveTime(Long.parseLong(tokens[++i]));
+                        break;
+                    case "wtime":
+                        builder.setWhiteTime(Math.max(1L, Long.parseLong(tokens[++i])));
+                        break;
+                    case "btime":
+                        builder.setBlackTime(Math.max(1L, Long.parseLong(tokens[++i])));
+                        break;
+                    case "winc":
+                        builder.setWhiteIncrement(Long.parseLong(tokens[++i]));
+                        break;
+                    case "binc":
+                        builder.setBlackIncrement(Long.parseLong(tokens[++i]));
+                        break;
+                    case "movestogo":
+                        builder.setMovesToGo(Integer.parseInt(tokens[++i]));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException e) {
+            send("info string bad go command " + String.join(" ", tokens));
+            return;
+        }
+        final SearchLimits limits = builder.build();
+        final LazySmpSearch search = getSearch();
+        final Board root = this.board;
+        final boolean infinite = indexOf(tokens, "infinite") >= 0;
+        final CountDownLatch stopSignal = new CountDownLatch(1);
+        this.stopSignal = stopSignal;
+        search.prepare();
+        this.searchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                SearchResult result = search.search(root, limits);
+                if (infinite) {
+                    awaitStop(stopSignal);
+                }
+                Move bestMove = result.getBestMove();
+                if (bestMove == Move.NULL_MOVE && !root.currentPlayer().getLegalMoves().isEmpty()) {
+                    bestMove = root.currentPlayer().getLegalMoves().iterator().next();
+                }
+                send("bestmove " + (bestMove == Move.NULL_MOVE ? "0000" : moveToString(bestMove)));
+            }
+        }, "uci-search");
+        this.searchThread.setDaemon(true);
+        this.searchThread.start();
+    }
+
+    /**
+     * Stops the running search and waits until it has sent its best move
+     */
+    private void stopSearch() {
+        if (this.searchThread == null) {
+            return;
+        }
+        this.search.stop();
+        this.stopSignal.countDown();
+        try {
+            this.searchThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.searchThread = null;
+    }
+
+    /**
+     * Waits for stop on the search thread, an interrupt ends the wait too
+     */
+    private static void awaitStop(final CountDownLatch stopSignal) {
+        try {
+            stopSignal.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The search is created on first use, after the hash or threads option changed
+     */
+    private LazySmpSearch getSearch() {
+        if (this.search == null) {
+            this.search = new LazySmpSearch(this.threads, this.hashMegabytes);
+            this.search.addListener(new SearchListener() {
+                @Override
+                public void onIterationComplete(SearchResult result) {
+                    send(info(result));
+                }
+            });
+        }
+        return this.search;
+    }
+
+    private static String info(final SearchResult result) {
+        int score = result.getScore();
+        String scoreText = AlphaBetaSearch.isMateScore(score) ? "mate " + AlphaBetaSearch.getMateInMoves(score) :
+                "cp " + score;
+        StringBuilder builder = new StringBuilder("info depth ").append(result.getDepth())
+                .append(" score ").append(scoreText)
+                .append(" nodes ").append(result.getNodes())
+                .append(" time ").append(result.getElapsedMillis())
+                .append(" nps ").append(result.getNodesPerSecond())
+                .append(" pv");
+        for (Move move : result.getPrincipalVariation()) {
+            builder.append(' ').append(moveToString(move));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param board The board the move is made on
+     * @param text The move in coordinate notation, e.g. "e2e4" or "e7e8q"
+     * @return The legal move or Move.NULL_MOVE, also for a promotion without the q suffix or to an other piece
+     */
+    static Move parseMove(final Board board, final String text) {
+        if (text.length() < 4 || text.length() > 5 ||
+                !BoardUtils.POSITION_TO_COORDINATE.containsKey(text.substring(0, 2)) ||
+                !BoardUtils.POSITION_TO_COORDINATE.containsKey(text.substring(2, 4))) {
+            return Move.NULL_MOVE;
+        }
+        Move move = board.getLegalMove(BoardUtils.getCoordinateAtPosition(text.substring(0, 2)),
+                BoardUtils.getCoordinateAtPosition(text.substring(2, 4)));
+        boolean queenPromotion = text.length() == 5 && text.charAt(4) == 'q';
+        if ((move instanceof Move.PawnPromotion) != queenPromotion) {
+            return Move.NULL_MOVE;
+        }
+        return move;
+    }
+
+    private static String moveToString(final Move move) {
+        return PackedMove.toString(PackedMove.fromMove(move));
+    }
+
+    private static int indexOf(final String[] tokens, final String token) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(token)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void send(final String line) {
+        synchronized (this.output) {
+            this.output.println(line);
+            this.output.flush();
+        }
+    }
+}
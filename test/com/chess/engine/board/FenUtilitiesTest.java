@@ -0,0 +1,102 @@
+package com.chess.engine.board;
+
+import com.chess.engine.perft.Perft;
+import com.chess.engine.perft.PerftPosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * FenUtilities tests: the reference positions, round trips along random games and malformed FENs
+ */
+public class FenUtilitiesTest {
+
+    @Test
+    public void standardFenIsTheStandardBoard() {
+        Board board = FenUtilities.createBoardFromFen(FenUtilities.STANDARD_FEN);
+        assertEquals(Board.createStandardBoard().getZobristKey(), board.getZobristKey());
+        assertEquals(FenUtilities.STANDARD_FEN, FenUtilities.createFenFromBoard(Board.createStandardBoard()));
+    }
+
+    @Test
+    public void referencePositionsMatchThePerftCounts() {
+        for (PerftPosition position : PerftPosition.values()) {
+            Board board = FenUtilities.createBoardFromFen(position.getFen());
+            for (int depth = 1; depth <= Math.min(3, position.getMaxDepth()); depth++) {
+                assertEquals(position.getExpectedNodes(depth), Perft.perft(board, depth), position + " depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    public void roundTripsAlongRandomGames() {
+        Random random = new Random(7);
+        for (int game = 0; game < 40; game++) {
+            Board board = Board.createStandardBoard();
+            for (int ply = 0; ply < 100; ply++) {
+                List<Move> moves = new ArrayList<Move>(board.currentPlayer().getLegalMoves());
+                if (moves.isEmpty()) {
+                    break;
+                }
+                board = board.currentPlayer().makeMove(moves.get(random.nextInt(moves.size()))).getToBoard();
+                String fen = FenUtilities.createFenFromBoard(board);
+                Board copy = FenUtilities.createBoardFromFen(fen);
+                assertEquals(fen, FenUtilities.createFenFromBoard(copy));
+                assertEquals(board.getZobristKey(), copy.getZobristKey(), fen);
+                assertEquals(legalMoves(board), legalMoves(copy), fen);
+                assertEquals(fen, FenUtilities.createFenFromBoard(SearchBoard.fromBoard(board).toBoard()));
+            }
+        }
+    }
+
+    @Test
+    public void moveCountersAreReadAndDefaulted() {
+        Board board = FenUtilities.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K3 b - - 12 34");
+        assertEquals(12, board.getHalfMoveClock());
+        assertEquals(34, board.getFullMoveNumber());
+        board = FenUtilities.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K3 w - -");
+        assertEquals(0, board.getHalfMoveClock());
+        assertEquals(1, board.getFullMoveNumber());
+    }
+
+    @Test
+    public void malformedFensAreRejected() {
+        String[] fens = {
+                "",
+                "8/8/8 w - -",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkx - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e5 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - x 1",
+                "8/8/8/8/8/8/8/8 w - - 0 1",
+                "4k3/8/8/8/8/8/8/8 w - - 0 1",
+                "4k3/8/8/8/8/8/8/3KK3 w - - 0 1",
+                "P3k3/8/8/8/8/8/8/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/4K2p b - - 0 1",
+                "4k34K3/8/8/8/8/8/8 w - - 0 1",
+                "4k3//8/8/8/8/8/8/4K3 w - - 0 1",
+                "4k3/8/8/8/8/8/8/4K3/ w - - 0 1",
+                "/4k3/8/8/8/8/8/8/4K3 w - - 0 1",
+                "4k4/8/8/8/8/8/8/3K3 w - - 0 1"
+        };
+        for (final String fen : fens) {
+            assertThrows(IllegalArgumentException.class, () -> FenUtilities.createBoardFromFen(fen), fen);
+        }
+    }
+
+    private static Set<String> legalMoves(final Board board) {
+        Set<String> moves = new HashSet<String>();
+        for (Move move : board.currentPlayer().getLegalMoves()) {
+            moves.add(move.getCurrentCoordinate() + "-" + move.getDestinationCoordinate());
+        }
+        return moves;
+    }
+}
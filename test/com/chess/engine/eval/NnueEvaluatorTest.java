@@ -0,0 +1,97 @@
+package com.chess.engine.eval;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.perft.PerftPosition;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * NNUE tests: the incrementally updated accumulator against a fresh one, saving and loading, and the output sum
+ */
+public class NnueEvaluatorTest {
+
+    private static final int HIDDEN_SIZE = 64;
+
+    @Test
+    public void incrementalUpdatesMatchAFreshAccumulator() {
+        Random random = new Random(5);
+        NnueEvaluator evaluator = new NnueEvaluator(createRandomNetwork(random));
+        MoveList moves = new MoveList();
+        for (PerftPosition position : PerftPosition.values()) {
+            SearchBoard board = SearchBoard.fromBoard(position.createBoard());
+            int rootScore = evaluator.evaluate(board);
+            for (int ply = 0; ply < 80; ply++) {
+                board.generatePseudoLegalMoves(moves);
+                List<Integer> legalMoves = new ArrayList<Integer>();
+                for (int i = 0; i < moves.size(); i++) {
+                    if (board.makeMove(moves.get(i))) {
+                        legalMoves.add(moves.get(i));
+                        board.unmakeMove();
+                    }
+                }
+                if (legalMoves.isEmpty()) {
+                    break;
+                }
+                board.makeMove(legalMoves.get(random.nextInt(legalMoves.size())));
+                assertEquals(evaluator.evaluate(SearchBoard.fromBoard(board.toBoard())), evaluator.evaluate(board),
+                        position + " ply " + ply);
+            }
+            while (board.getPly() > 0) {
+                board.unmakeMove();
+            }
+            assertEquals(rootScore, evaluator.evaluate(board), position.toString());
+        }
+    }
+
+    @Test
+    public void savedNetworkLoadsEqual() throws IOException {
+        NnueNetwork network = createRandomNetwork(new Random(7));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        network.save(output);
+        NnueNetwork loaded = NnueNetwork.load(new ByteArrayInputStream(output.toByteArray()));
+        for (PerftPosition position : PerftPosition.values()) {
+            assertEquals(new NnueEvaluator(network).evaluate(SearchBoard.fromBoard(position.createBoard())),
+                    new NnueEvaluator(loaded).evaluate(SearchBoard.fromBoard(position.createBoard())));
+        }
+    }
+
+    @Test
+    public void largestOutputSumDoesNotOverflow() {
+        int hiddenSize = 4096;
+        short[] hidden = new short[hiddenSize];
+        Arrays.fill(hidden, (short) NnueNetwork.HIDDEN_SCALE);
+        short[] outputWeights = new short[2 * hiddenSize];
+        Arrays.fill(outputWeights, Short.MAX_VALUE);
+        NnueNetwork network = new NnueNetwork(hiddenSize, new short[NnueNetwork.INPUTS * hiddenSize],
+                new short[hiddenSize], outputWeights, 0);
+        long sum = 2L * hiddenSize * NnueNetwork.HIDDEN_SCALE * Short.MAX_VALUE;
+        assertEquals(sum * NnueNetwork.EVALUATION_SCALE / (NnueNetwork.HIDDEN_SCALE * NnueNetwork.OUTPUT_SCALE),
+                network.evaluate(hidden, hidden));
+    }
+
+    private static NnueNetwork createRandomNetwork(final Random random) {
+        short[] inputWeights = new short[NnueNetwork.INPUTS * HIDDEN_SIZE];
+        for (int i = 0; i < inputWeights.length; i++) {
+            inputWeights[i] = (short) (random.nextInt(61) - 30);
+        }
+        short[] hiddenBiases = new short[HIDDEN_SIZE];
+        for (int i = 0; i < hiddenBiases.length; i++) {
+            hiddenBiases[i] = (short) random.nextInt(100);
+        }
+        short[] outputWeights = new short[2 * HIDDEN_SIZE];
+        for (int i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) (random.nextInt(129) - 64);
+        }
+        return new NnueNetwork(HIDDEN_SIZE, inputWeights, hiddenBiases, outputWeights, 17);
+    }
+}
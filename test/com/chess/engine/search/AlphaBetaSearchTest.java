@@ -0,0 +1,61 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.SearchBoard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AlphaBetaSearch tests on the draws by repetition and by the fifty move rule
+ */
+public class AlphaBetaSearchTest {
+
+    private static final String[] KNIGHTS_OUT_AND_BACK = {"g1f3", "g8f6", "f3g1", "f6g8"};
+
+    @Test
+    public void repetitionOfASearchBoard() {
+        Board board = Board.createStandardBoard();
+        SearchBoard searchBoard = SearchBoard.fromBoard(board);
+        for (String text : KNIGHTS_OUT_AND_BACK) {
+            assertFalse(searchBoard.isRepetition(), text);
+            Move move = move(board, text);
+            assertTrue(searchBoard.makeMove(move), text);
+            board = board.currentPlayer().makeMove(move).getToBoard();
+        }
+        assertTrue(searchBoard.isRepetition());
+    }
+
+    @Test
+    public void repetitionOfAGameBoard() {
+        Board board = Board.createStandardBoard();
+        for (String text : KNIGHTS_OUT_AND_BACK) {
+            assertFalse(SearchBoard.fromBoard(board).isRepetition(), text);
+            board = board.currentPlayer().makeMove(move(board, text)).getToBoard();
+        }
+        assertTrue(SearchBoard.fromBoard(board).isRepetition());
+        assertTrue(new AlphaBetaSearch().search(board, SearchLimits.depth(3)).getBestMove() != Move.NULL_MOVE);
+    }
+
+    @Test
+    public void fiftyMoveRuleScoresADraw() {
+        String fen = "4k3/8/8/8/8/8/8/Q3K3 w - - %d 80";
+        SearchResult result = new AlphaBetaSearch().search(FenUtilities.createBoardFromFen(String.format(fen, 99)),
+                SearchLimits.depth(3));
+        assertEquals(0, result.getScore());
+        result = new AlphaBetaSearch().search(FenUtilities.createBoardFromFen(String.format(fen, 0)),
+                SearchLimits.depth(3));
+        assertTrue(result.getScore() > 500, String.valueOf(result.getScore()));
+    }
+
+    private static Move move(final Board board, final String text) {
+        return MoveFactory.createMove(board, BoardUtils.getCoordinateAtPosition(text.substring(0, 2)),
+                BoardUtils.getCoordinateAtPosition(text.substring(2, 4)));
+    }
+}
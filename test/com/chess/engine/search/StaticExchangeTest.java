@@ -0,0 +1,59 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * StaticExchange tests on hand checked exchanges, with the PieceType values
+ */
+public class StaticExchangeTest {
+
+    private final StaticExchange staticExchange = new StaticExchange();
+
+    @Test
+    public void undefendedPawn() {
+        assertEquals(100, evaluate("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5"));
+    }
+
+    @Test
+    public void pawnDefendedByPawn() {
+        assertEquals(100 - 330, evaluate("4k3/8/3p4/4p3/8/8/7B/4K3 w - - 0 1", "h2e5"));
+    }
+
+    @Test
+    public void rookBehindRookJoinsIn() {
+        assertEquals(100, evaluate("4r1k1/8/8/4p3/8/8/4R3/4R1K1 w - - 0 1", "e2e5"));
+    }
+
+    @Test
+    public void exchangeWithXRaysOnBothSides() {
+        // NxP NxN, white does not go on as RxN BxR QxB QxQ loses more
+        assertEquals(100 - 320, evaluate("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3e5"));
+    }
+
+    @Test
+    public void enPassantCapture() {
+        assertEquals(100, evaluate("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5d6"));
+    }
+
+    private int evaluate(final String fen, final String move) {
+        SearchBoard board = SearchBoard.fromBoard(FenUtilities.createBoardFromFen(fen));
+        int from = BoardUtils.getCoordinateAtPosition(move.substring(0, 2));
+        int to = BoardUtils.getCoordinateAtPosition(move.substring(2, 4));
+        MoveList moves = new MoveList();
+        board.generatePseudoLegalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.getFrom(moves.get(i)) == from && PackedMove.getTo(moves.get(i)) == to) {
+                return this.staticExchange.evaluate(board, moves.get(i));
+            }
+        }
+        return fail("No move " + move + " in " + fen);
+    }
+}
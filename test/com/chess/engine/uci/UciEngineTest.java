@@ -0,0 +1,66 @@
+package com.chess.engine.uci;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * UciEngine tests: stop right after go and promotion moves
+ */
+public class UciEngineTest {
+
+    private static final String PROMOTION_FEN = "position fen 8/4P1k1/8/8/8/8/8/4K3 w - - 0 1 moves ";
+
+    @Test
+    public void stopRightAfterGoInfiniteSendsTheBestMove() {
+        for (int i = 0; i < 20; i++) {
+            final String output = run("position startpos\ngo infinite\nstop\nquit\n");
+            assertTrue(output.contains("bestmove "), output);
+        }
+    }
+
+    @Test
+    public void stopRightAfterGoSendsTheBestMoveOnce() {
+        String output = run("position startpos moves e2e4\ngo\nstop\nisready\nquit\n");
+        assertTrue(output.indexOf("bestmove ") < output.indexOf("readyok"), output);
+        assertTrue(output.indexOf("bestmove ") == output.lastIndexOf("bestmove "), output);
+    }
+
+    @Test
+    public void queenPromotionIsMade() {
+        String output = run(PROMOTION_FEN + "e7e8q\nquit\n");
+        assertFalse(output.contains("illegal move"), output);
+    }
+
+    @Test
+    public void otherPromotionsAreRejected() {
+        for (String move : new String[]{"e7e8n", "e7e8b", "e7e8r", "e7e8"}) {
+            String output = run(PROMOTION_FEN + move + "\nquit\n");
+            assertTrue(output.contains("info string illegal move " + move), output);
+        }
+        String output = run("position startpos moves e2e4q\nquit\n");
+        assertTrue(output.contains("info string illegal move e2e4q"), output);
+    }
+
+    private static String run(final String input) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            new UciEngine(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                    new PrintStream(output, true, "UTF-8")).run();
+        });
+        try {
+            return output.toString("UTF-8");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}